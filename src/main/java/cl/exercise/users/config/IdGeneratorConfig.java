@@ -0,0 +1,23 @@
+package cl.exercise.users.config;
+
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.RandomIdGenerator;
+import cl.exercise.users.util.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Value("${app.id.generator:uuidv7}")
+    private String generator;
+
+    @Bean
+    public IdGenerator idGenerator() {
+        if ("random".equalsIgnoreCase(generator)) {
+            return new RandomIdGenerator();
+        }
+        return new TimeOrderedIdGenerator();
+    }
+}
@@ -0,0 +1,89 @@
+package cl.exercise.users.config;
+
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.repository.UserTokenView;
+import cl.exercise.users.util.VerifiedTokenCache;
+import cl.exercise.users.util.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Key;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Autentica las peticiones con el token HS256 de {@code Authorization: Bearer}. Un token ya verificado
+ * se resuelve desde {@link VerifiedTokenCache}; solo en un fallo se valida la firma y el vencimiento y se
+ * consulta el usuario, que debe estar activo y tener ese token como el último emitido. Un token inválido
+ * deja la petición sin autenticar y las rutas protegidas responden 401.
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserManagementRepository userManagementRepository;
+
+    public JwtAuthenticationFilter(Key jwtSecretKey,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   UserManagementRepository userManagementRepository) {
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecretKey).build();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userManagementRepository = userManagementRepository;
+    }
+
+    // Las respuestas asíncronas vuelven a pasar por la cadena; el token se resuelve otra vez desde la caché.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            VerifiedToken verified = verifiedTokenCache.resolve(header.substring(BEARER.length()).trim(), this::verify);
+            if (verified != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(verified.userId(), null, List.of()));
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims;
+        UUID userId;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null) return null;
+            userId = UUID.fromString(claims.getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JwtAuthenticationFilter:::verify token rechazado: {}", e.getMessage());
+            return null;
+        }
+        UserTokenView user = userManagementRepository.findTokenById(userId).orElse(null);
+        if (user == null || !Boolean.TRUE.equals(user.getIsActive()) || !token.equals(user.getToken())) {
+            log.debug("JwtAuthenticationFilter:::verify token no vigente para {}", userId);
+            return null;
+        }
+        return new VerifiedToken(userId, claims.get("email", String.class),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+    }
+}
@@ -1,27 +1,110 @@
 package cl.exercise.users.config;
 
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.util.PasswordCostCalibrator;
+import cl.exercise.users.util.VerifiedTokenCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
 
+import java.security.Key;
+import java.time.Duration;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class SecurityConfig {
 
+    private static final String BCRYPT = "bcrypt";
+    private static final String PBKDF2 = "pbkdf2";
+
+    @Value("${app.security.password.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${app.security.password.strength:0}")
+    private int strength;
+
+    @Value("${app.security.password.target-ms:50}")
+    private long targetMs;
+
+    @Value("${app.security.password.min-strength:10}")
+    private int minStrength;
+
+    @Value("${app.security.password.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${app.security.jwt.enabled:false}")
+    private boolean jwtEnabled;
+
+    /**
+     * Los hash nuevos se guardan con el prefijo {@code {id}} del algoritmo elegido; los anteriores sin
+     * prefijo se verifican como BCrypt. Cada escritura de contraseña usa los parámetros vigentes, por lo
+     * que un hash con un costo desactualizado se reemplaza la próxima vez que se cambie.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength());
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("app.security.password.algorithm no soportado: " + algorithm);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
+    private int bcryptStrength() {
+        if (strength > 0 || !BCRYPT.equals(algorithm)) {
+            return strength > 0 ? strength : minStrength;
+        }
+        long start = System.nanoTime();
+        int calibrated = new PasswordCostCalibrator(Duration.ofMillis(targetMs)).bcryptStrength(minStrength, maxStrength);
+        log.info("SecurityConfig:::passwordEncoder bcrypt strength: {} (objetivo {} ms, calibración {} ms)",
+                calibrated, targetMs, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return calibrated;
+    }
+
+    /**
+     * Con {@code app.security.jwt.enabled=true} todo exige token salvo el registro de usuarios,
+     * la documentación, la consola H2 y actuator.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   Key jwtSecretKey,
+                                                   VerifiedTokenCache verifiedTokenCache,
+                                                   UserManagementRepository userManagementRepository) throws Exception {
+        if (jwtEnabled) {
+            http
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .addFilterBefore(new JwtAuthenticationFilter(jwtSecretKey, verifiedTokenCache, userManagementRepository),
+                            UsernamePasswordAuthenticationFilter.class)
+                    .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                    .authorizeHttpRequests(auth -> auth
+                            .requestMatchers(HttpMethod.POST, "/api/users").permitAll()
+                            .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**",
+                                    "/h2-console/**", "/actuator/**", "/error").permitAll()
+                            .anyRequest().authenticated());
+        } else {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        }
         http
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
                 .headers(headers -> headers
                         .addHeaderWriter(
                                 new XFrameOptionsHeaderWriter(
@@ -32,4 +115,3 @@ public class SecurityConfig {
         return http.build();
     }
 }
-
@@ -1,7 +1,10 @@
 package cl.exercise.users.controller;
 
-import cl.exercise.users.dto.log.UserLogDTO;
+import cl.exercise.users.dto.SliceDTO;
+import cl.exercise.users.exception.ValidationException;
 import cl.exercise.users.service.UserLogService;
+import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.PageCountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -10,13 +13,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -35,6 +42,9 @@ public class UserLogController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Historial obtenido correctamente"),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "El historial no cambió desde el ETag enviado"),
             @ApiResponse(
                     responseCode = "500",
                     description = "Error interno del servidor",
@@ -44,12 +54,63 @@ public class UserLogController {
                                     value = "{\"mensaje\": \"Error al obtener el historial de usuarios\"}")))
     })
     @GetMapping
-    public ResponseEntity<Page<UserLogDTO>> getAllLog(
+    public ResponseEntity<?> getAllLog(
             @RequestParam(value = "page", required = false) Integer page,
             @RequestParam(value = "size", required = false) Integer size,
-            @RequestParam(value = "userId", required = false) UUID userId) {
+            @RequestParam(value = "userId", required = false) UUID userId,
+            @RequestParam(value = "conteo", required = false) String countMode,
+            WebRequest webRequest) {
+
+        String version = userLogService.getLogsVersion();
+        if (webRequest.checkNotModified(version)) {
+            return null;
+        }
+        try {
+            Object logList = switch (PageCountMode.fromParam(countMode)) {
+                case EXACT -> userLogService.getAllLog(page, size, userId);
+                case CACHED -> userLogService.getAllLogWithCachedTotal(page, size, userId);
+                case NONE -> SliceDTO.of(userLogService.getLogSlice(page, size, userId));
+            };
+            return ResponseEntity.ok().eTag(version).body(logList);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(Constants.MSG, e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Obtiene el historial archivado por rango de fechas")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Historial archivado obtenido correctamente"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Rango de fechas inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = "{\"mensaje\": \"El rango de fechas del archivo no es válido\"}"))),
+            @ApiResponse(
+                    responseCode = "501",
+                    description = "No disponible con app.audit.backend=segment",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    value = "{\"mensaje\": \"El almacén de segmentos no archiva logs; el historial completo está en /api/logs\"}")))
+    })
+    @GetMapping("/archive")
+    public ResponseEntity<?> getArchivedLog(
+            @RequestParam(value = "desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "userId", required = false) UUID userId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
 
-        Page<UserLogDTO> logList = userLogService.getAllLog(page, size, userId);
-        return ResponseEntity.ok(logList);
+        try {
+            return ResponseEntity.ok(SliceDTO.of(userLogService.getArchivedLog(from, to, userId, page, size)));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(Constants.MSG, e.getMessage()));
+        }
     }
 }
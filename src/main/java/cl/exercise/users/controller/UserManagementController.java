@@ -1,29 +1,41 @@
 package cl.exercise.users.controller;
 
 import cl.exercise.users.dto.ServiceResponseDTO;
+import cl.exercise.users.dto.SliceDTO;
 import cl.exercise.users.dto.user.UserRequestDTO;
 import cl.exercise.users.dto.user.UserResponseDTO;
 import cl.exercise.users.exception.EmailExistException;
 import cl.exercise.users.exception.ValidationException;
+import cl.exercise.users.service.UserBulkImportService;
+import cl.exercise.users.service.UserBulkStatusService;
+import cl.exercise.users.service.UserExportService;
 import cl.exercise.users.service.UserManagementService;
 import cl.exercise.users.util.Constants;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import cl.exercise.users.util.ExportFormat;
+import cl.exercise.users.util.PageCountMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RestController
@@ -33,6 +45,9 @@ import java.util.UUID;
 public class UserManagementController {
 
     private final UserManagementService userManagementService;
+    private final UserBulkImportService userBulkImportService;
+    private final UserExportService userExportService;
+    private final UserBulkStatusService userBulkStatusService;
 
     @Operation(summary = "Agrega usuarios")
     @ApiResponses(value = {
@@ -42,50 +57,134 @@ public class UserManagementController {
                     examples = @ExampleObject(value = "{\"mensaje\": \"El correo ya está registrado\"}"))),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor",
                     content = @Content(mediaType = "application/json",
-                    examples = @ExampleObject(value = "{\"mensaje\": \"Error interno en el servidor\"}")))
+                    examples = @ExampleObject(value = "{\"mensaje\": \"Error interno en el servidor\"}"))),
+            @ApiResponse(responseCode = "503", description = "Servicio ocupado, reintentar",
+                    content = @Content(mediaType = "application/json",
+                    examples = @ExampleObject(value = "{\"mensaje\": \"El servicio está ocupado, intente nuevamente\"}")))
     })
     @PostMapping
-    public ResponseEntity<?> addUser(@Valid @RequestBody UserRequestDTO dto) {
+    public CompletableFuture<ResponseEntity<?>> addUser(@Valid @RequestBody UserRequestDTO dto) {
         try {
-            ServiceResponseDTO response = userManagementService.addUser(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return userManagementService.addUser(dto)
+                    .<ResponseEntity<?>>thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response))
+                    .exceptionally(UserManagementController::badRequest);
         } catch (EmailExistException | ValidationException e) {
+            return CompletableFuture.completedFuture(badRequest(e));
+        }
+    }
+
+    // Errores de negocio como 400; el resto sigue a GlobalExceptionHandler.
+    private static ResponseEntity<?> badRequest(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof EmailExistException || cause instanceof ValidationException) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of(Constants.MSG, e.getMessage()));
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+                    .body(Map.of(Constants.MSG, cause.getMessage()));
         }
+        throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
+    @Operation(summary = "Importa usuarios de forma masiva desde NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reporte NDJSON con el resultado de cada línea",
+                    content = @Content(mediaType = "application/x-ndjson",
+                    examples = @ExampleObject(value = "{\"line\":1,\"status\":\"creado\",\"id\":\"...\"}\n"
+                            + "{\"line\":2,\"status\":\"error\",\"mensaje\":\"El correo ya está registrado\"}")))
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkImport(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        userBulkImportService.importUsers(request.getInputStream(), response.getOutputStream());
     }
 
     @Operation(summary = "Busca todos los usuarios")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Listado obtenido correctamente"),
+            @ApiResponse(responseCode = "304", description = "El listado no cambió desde el ETag enviado"),
             @ApiResponse(responseCode = "500", description = "Error interno",
                     content = @Content(mediaType = "application/json",
                     examples = @ExampleObject(value = "{\"mensaje\": \"Error al obtener los usuarios\"}")))
     })
     @GetMapping
-    public ResponseEntity<Page<UserResponseDTO>> findAllUser(
+    public ResponseEntity<?> findAllUser(
             @RequestParam(value = "page", required = false) Integer page,
             @RequestParam(value = "size", required = false) Integer size,
             @RequestParam(value = "orden", required = false) String sortBy,
-            @RequestParam(value = "estado", required = false) String status) {
+            @RequestParam(value = "estado", required = false) String status,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "conteo", required = false) String countMode,
+            WebRequest webRequest) {
+
+        // La versión se lee antes que los datos: un cambio intermedio deja el ETag atrasado, nunca adelantado.
+        String version = userManagementService.getUsersVersion();
+        if (webRequest.checkNotModified(version)) {
+            return null;
+        }
+        try {
+            if (after != null) {
+                return ResponseEntity.ok().eTag(version)
+                        .body(userManagementService.getUsersAfter(after, size, status));
+            }
+            Object userList = switch (PageCountMode.fromParam(countMode)) {
+                case EXACT -> userManagementService.getAllUser(page, size, sortBy, status);
+                case CACHED -> userManagementService.getAllUserWithCachedTotal(page, size, sortBy, status);
+                case NONE -> SliceDTO.of(userManagementService.getUserSlice(page, size, sortBy, status));
+            };
+            return ResponseEntity.ok().eTag(version).body(userList);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(Constants.MSG, e.getMessage()));
+        }
+    }
 
-        Page<UserResponseDTO> userList = userManagementService.getAllUser(page, size, sortBy, status);
-        return ResponseEntity.ok(userList);
+    @Operation(summary = "Exporta todos los usuarios en NDJSON o CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Usuarios exportados"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido",
+                    content = @Content(mediaType = "application/json",
+                    examples = @ExampleObject(value = "{\"mensaje\": \"Formato de exportación inválido: xml\"}")))
+    })
+    @GetMapping("/export")
+    public ResponseEntity<?> exportUsers(
+            @RequestParam(value = "formato", required = false) String format,
+            @RequestParam(value = "estado", required = false) String status,
+            @RequestParam(value = "telefonos", defaultValue = "true") boolean withPhones,
+            HttpServletResponse response) throws IOException {
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParam(format);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(Constants.MSG, e.getMessage()));
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        userExportService.exportUsers(response.getOutputStream(), exportFormat, status, withPhones);
+        return null;
     }
 
     @Operation(summary = "Busca a un usuario por su correo")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Usuario encontrado"),
+            @ApiResponse(responseCode = "304", description = "El usuario no cambió desde el ETag enviado"),
             @ApiResponse(responseCode = "400", description = "Solicitud inválida",
                     content = @Content(mediaType = "application/json",
                     examples = @ExampleObject(value = "{\"mensaje\": \"Correo inválido\"}")))
     })
     @GetMapping("/email/{email}")
-    public ResponseEntity<?> getByEmail(@PathVariable String email){
+    public ResponseEntity<?> getByEmail(@PathVariable String email, WebRequest webRequest){
         try {
-            return ResponseEntity.ok(userManagementService.getByEmail(email));
+            String version = userManagementService.getUserVersion(email);
+            if (webRequest.checkNotModified(version)) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(version)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(userManagementService.getByEmailJson(email));
         } catch (EmailExistException | ValidationException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of(Constants.MSG, e.getMessage()));
@@ -100,7 +199,7 @@ public class UserManagementController {
                     examples = @ExampleObject(value = "{\"mensaje\": \"Usuario no encontrado con ID:\"}")))
     })
     @PutMapping("/{id}")
-    public UserResponseDTO updateUser(
+    public CompletableFuture<UserResponseDTO> updateUser(
             @PathVariable UUID id,
             @RequestBody UserRequestDTO requestDTO) {
         return userManagementService.updateUser(id, requestDTO);
@@ -140,4 +239,40 @@ public class UserManagementController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(Constants.MSG, e.getMessage()));
         }
     }
+
+    @Operation(summary = "Activa una lista de usuarios")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado por cada ID",
+                    content = @Content(mediaType = "application/json",
+                    examples = @ExampleObject(value = "[{\"id\": \"...\", \"status\": \"cambiado\"}]"))),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs inválida",
+                    content = @Content(mediaType = "application/json",
+                    examples = @ExampleObject(value = "{\"mensaje\": \"La lista de IDs debe tener entre 1 y 10000 elementos\"}")))
+    })
+    @PatchMapping("/bulk/activate")
+    public ResponseEntity<?> activateUsers(@RequestBody List<UUID> ids) {
+        try {
+            return ResponseEntity.ok(userBulkStatusService.activateUsers(ids));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(Constants.MSG, e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Desactiva una lista de usuarios")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado por cada ID",
+                    content = @Content(mediaType = "application/json",
+                    examples = @ExampleObject(value = "[{\"id\": \"...\", \"status\": \"sin_cambios\"}]"))),
+            @ApiResponse(responseCode = "400", description = "Lista de IDs inválida",
+                    content = @Content(mediaType = "application/json",
+                    examples = @ExampleObject(value = "{\"mensaje\": \"La lista de IDs debe tener entre 1 y 10000 elementos\"}")))
+    })
+    @PatchMapping("/bulk/deactivate")
+    public ResponseEntity<?> deactivateUsers(@RequestBody List<UUID> ids) {
+        try {
+            return ResponseEntity.ok(userBulkStatusService.deactivateUsers(ids));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(Constants.MSG, e.getMessage()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package cl.exercise.users.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    @JsonProperty(value = "content")
+    private List<T> content;
+    @JsonProperty(value = "size")
+    private int size;
+    @JsonProperty(value = "has_next")
+    private boolean hasNext;
+    @JsonProperty(value = "next_cursor")
+    private String nextCursor;
+
+}
@@ -0,0 +1,28 @@
+package cl.exercise.users.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceDTO<T> {
+
+    @JsonProperty(value = "content")
+    private List<T> content;
+    @JsonProperty(value = "page")
+    private int page;
+    @JsonProperty(value = "size")
+    private int size;
+    @JsonProperty(value = "has_next")
+    private boolean hasNext;
+
+    public static <T> SliceDTO<T> of(Slice<T> slice) {
+        return new SliceDTO<>(slice.getContent(), slice.getNumber() + 1, slice.getSize(), slice.hasNext());
+    }
+}
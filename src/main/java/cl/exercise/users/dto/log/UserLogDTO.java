@@ -1,14 +1,23 @@
 package cl.exercise.users.dto.log;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
 public class UserLogDTO {
     private UUID id;
     private String idUser;
     private String action;
     private LocalDateTime creationDate;
+
+    public UserLogDTO(UUID id, UUID idUser, String action, LocalDateTime creationDate) {
+        this.id = id;
+        this.idUser = String.valueOf(idUser);
+        this.action = action;
+        this.creationDate = creationDate;
+    }
 }
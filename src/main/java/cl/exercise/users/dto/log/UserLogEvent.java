@@ -0,0 +1,10 @@
+package cl.exercise.users.dto.log;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Registro de auditoría pendiente de escritura en USER_LOG.
+ */
+public record UserLogEvent(UUID id, UUID userId, String action, LocalDateTime creationDate) {
+}
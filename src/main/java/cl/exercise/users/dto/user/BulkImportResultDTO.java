@@ -0,0 +1,36 @@
+package cl.exercise.users.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkImportResultDTO {
+
+    public static final String CREATED = "creado";
+    public static final String ERROR = "error";
+
+    @JsonProperty(value = "line")
+    private long line;
+    @JsonProperty(value = "status")
+    private String status;
+    @JsonProperty(value = "id")
+    private UUID id;
+    @JsonProperty(value = "mensaje")
+    private String message;
+
+    public static BulkImportResultDTO created(long line, UUID id) {
+        return new BulkImportResultDTO(line, CREATED, id, null);
+    }
+
+    public static BulkImportResultDTO error(long line, String message) {
+        return new BulkImportResultDTO(line, ERROR, null, message);
+    }
+}
@@ -0,0 +1,24 @@
+package cl.exercise.users.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResultDTO {
+
+    public static final String CHANGED = "cambiado";
+    public static final String UNCHANGED = "sin_cambios";
+    public static final String NOT_FOUND = "no_encontrado";
+
+    @JsonProperty(value = "id")
+    private UUID id;
+    @JsonProperty(value = "status")
+    private String status;
+
+}
@@ -3,6 +3,7 @@ package cl.exercise.users.exception;
 import cl.exercise.users.util.Constants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -48,6 +49,21 @@ public class GlobalExceptionHandler {
                 .body(Map.of(Constants.MSG, ex.getMessage()));
     }
 
+    @ExceptionHandler(NotSupportedException.class)
+    public ResponseEntity<Map<String, String>> handleNotSupported(NotSupportedException ex) {
+        log.warn("Error: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                .body(Map.of(Constants.MSG, ex.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        log.warn("Error: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(Constants.MSG, ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleAllOtherExceptions(Exception ex) {
         log.error("Error: ", ex);
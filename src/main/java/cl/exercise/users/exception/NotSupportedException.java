@@ -0,0 +1,8 @@
+package cl.exercise.users.exception;
+
+public class NotSupportedException extends RuntimeException {
+
+    public NotSupportedException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,8 @@
+package cl.exercise.users.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String msg) {
+        super(msg);
+    }
+}
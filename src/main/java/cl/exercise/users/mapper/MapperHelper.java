@@ -1,14 +1,11 @@
 package cl.exercise.users.mapper;
 
 import cl.exercise.users.dto.ServiceResponseDTO;
-import cl.exercise.users.dto.log.UserLogDTO;
 import cl.exercise.users.dto.user.PhoneDTO;
 import cl.exercise.users.dto.user.UserRequestDTO;
 import cl.exercise.users.dto.user.UserResponseDTO;
 import cl.exercise.users.model.PhoneModel;
-import cl.exercise.users.model.UserLogModel;
 import cl.exercise.users.model.UserModel;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -18,18 +15,12 @@ import java.util.stream.Collectors;
 @Component
 public class MapperHelper {
 
-    private final PasswordEncoder passwordEncoder;
-
-    public MapperHelper(PasswordEncoder passwordEncoder) {
-        this.passwordEncoder = passwordEncoder;
-    }
-
-    public UserModel toEntity(UserRequestDTO dto) {
+    public UserModel toEntity(UserRequestDTO dto, String passwordHash) {
         UserModel user = new UserModel();
 
         user.setName(dto.getName());
         user.setEmail(dto.getEmail());
-        user.setPasswd(passwordEncoder.encode(dto.getPasswd()));
+        user.setPasswd(passwordHash);
         user.setCreationDate(LocalDateTime.now());
         user.setLastLogin(LocalDateTime.now());
         user.setIsActive(true);
@@ -84,13 +75,4 @@ public class MapperHelper {
         return dto;
     }
 
-    public UserLogDTO mapLogToDTO(UserLogModel model) {
-        UserLogDTO dto = new UserLogDTO();
-        dto.setId(model.getId());
-        dto.setIdUser(String.valueOf(model.getUserModel().getId()));
-        dto.setAction(model.getAction());
-        dto.setCreationDate(model.getCreationDate());
-        return dto;
-    }
-
 }
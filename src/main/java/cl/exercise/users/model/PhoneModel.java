@@ -9,7 +9,8 @@ import lombok.Data;
 public class PhoneModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "phone_list_seq")
+    @SequenceGenerator(name = "phone_list_seq", sequenceName = "PHONE_LIST_SEQ", allocationSize = 50)
     private int id;
     private String phoneNumber;
     private String codCity;
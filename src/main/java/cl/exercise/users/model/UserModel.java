@@ -1,25 +1,35 @@
 package cl.exercise.users.model;
 
+import cl.exercise.users.util.Utils;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+// El UPDATE solo incluye las columnas modificadas: editar el nombre no reescribe el token.
 @Data
 @Entity
+@DynamicUpdate
 @Table(name = "USERS")
-public class UserModel {
+public class UserModel implements Persistable<UUID> {
 
     @Id
-    @GeneratedValue
     private UUID id;
     private String name;
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
+    @Setter(AccessLevel.NONE)
+    @Column(unique = true, nullable = false)
+    private String emailKey;
     @Column(nullable = false)
     private String passwd;
     private LocalDateTime creationDate;
@@ -32,5 +42,29 @@ public class UserModel {
     private List<PhoneModel> phoneList;
     @Column(length = 5000)
     private String token;
+    // El ID se asigna en la aplicación, por lo que se indica explícitamente si la entidad es nueva
+    // para que save() haga un INSERT directo en lugar de un SELECT + merge.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailKey = Utils.normalizeEmail(email);
+    }
 
 }
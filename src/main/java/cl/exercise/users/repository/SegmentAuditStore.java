@@ -0,0 +1,259 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.log.UserLogDTO;
+import cl.exercise.users.dto.log.UserLogEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Almacén de solo anexado para USER_LOG en segmentos de tamaño fijo mapeados en memoria.
+ * <p>
+ * Cada registro se escribe como {@code [largo][id][usuario][fecha][acción][crc32]}; el largo se escribe
+ * al final, de modo que un registro incompleto queda con largo 0 y marca el fin de los datos.
+ * Al iniciar se recorren los segmentos y se reconstruye en memoria el índice global y por usuario,
+ * con la posición de cada registro ({@code segmento << 32 | offset}).
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "app.audit.backend", havingValue = "segment")
+public class SegmentAuditStore {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    // id (16) + usuario (16) + segundos (8) + nanos (4) + largo acción (2) + crc (4)
+    private static final int FIXED_PAYLOAD = 50;
+    private static final int HEADER = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final LongList all = new LongList();
+    private final Map<UUID, LongList> byUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int writeOffset;
+
+    public SegmentAuditStore(@Value("${app.audit.segment.dir:./data/audit}") String directory,
+                             @Value("${app.audit.segment.size-bytes:67108864}") int segmentSize,
+                             @Value("${app.audit.segment.force-on-append:false}") boolean forceOnAppend) {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    @PostConstruct
+    public void open() {
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .sorted()
+                        .toList();
+            }
+            for (Path file : files) {
+                segments.add(map(file));
+                writeOffset = recover(segments.size() - 1);
+            }
+            if (segments.isEmpty()) {
+                roll();
+            }
+            log.info("SegmentAuditStore:::open segmentos: {}, registros: {}, usuarios: {}",
+                    segments.size(), all.size(), byUser.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void append(UserLogEvent event) {
+        byte[] action = event.action().getBytes(StandardCharsets.UTF_8);
+        int payload = FIXED_PAYLOAD + action.length;
+        if (HEADER + payload > segmentSize) {
+            throw new IllegalArgumentException("Registro de auditoría mayor que el segmento");
+        }
+        lock.writeLock().lock();
+        try {
+            if (writeOffset + HEADER + payload > segmentSize) {
+                segments.get(segments.size() - 1).force();
+                roll();
+            }
+            int segment = segments.size() - 1;
+            MappedByteBuffer buffer = segments.get(segment);
+            int offset = writeOffset;
+            int p = offset + HEADER;
+            LocalDateTime date = event.creationDate();
+            buffer.putLong(p, event.id().getMostSignificantBits());
+            buffer.putLong(p + 8, event.id().getLeastSignificantBits());
+            buffer.putLong(p + 16, event.userId().getMostSignificantBits());
+            buffer.putLong(p + 24, event.userId().getLeastSignificantBits());
+            buffer.putLong(p + 32, date.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(p + 40, date.getNano());
+            buffer.putShort(p + 44, (short) action.length);
+            buffer.put(p + 46, action);
+            buffer.putInt(p + 46 + action.length, crc(buffer, p, payload - Integer.BYTES));
+            buffer.putInt(offset, payload);
+            if (forceOnAppend) {
+                buffer.force();
+            }
+            writeOffset = offset + HEADER + payload;
+            index(event.userId(), position(segment, offset));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count(UUID userId) {
+        lock.readLock().lock();
+        try {
+            if (userId == null) return all.size();
+            LongList positions = byUser.get(userId);
+            return positions == null ? 0 : positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registros en orden de escritura, desde {@code offset} y hasta {@code limit} elementos.
+     */
+    public List<UserLogDTO> read(UUID userId, long offset, int limit) {
+        long[] positions;
+        lock.readLock().lock();
+        try {
+            LongList source = userId == null ? all : byUser.get(userId);
+            positions = source == null ? new long[0] : source.range(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<UserLogDTO> result = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            result.add(decode(position));
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (!segments.isEmpty()) {
+                segments.get(segments.size() - 1).force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private UserLogDTO decode(long position) {
+        MappedByteBuffer buffer = segments.get((int) (position >>> 32));
+        int p = (int) position + HEADER;
+        UUID id = new UUID(buffer.getLong(p), buffer.getLong(p + 8));
+        UUID userId = new UUID(buffer.getLong(p + 16), buffer.getLong(p + 24));
+        LocalDateTime date = LocalDateTime.ofEpochSecond(buffer.getLong(p + 32), buffer.getInt(p + 40), ZoneOffset.UTC);
+        byte[] action = new byte[buffer.getShort(p + 44)];
+        buffer.get(p + 46, action);
+        return new UserLogDTO(id, userId, new String(action, StandardCharsets.UTF_8), date);
+    }
+
+    /**
+     * Indexa los registros válidos del segmento y devuelve el offset donde continúa la escritura.
+     */
+    private int recover(int segment) {
+        MappedByteBuffer buffer = segments.get(segment);
+        int offset = 0;
+        while (offset + HEADER <= segmentSize) {
+            int payload = buffer.getInt(offset);
+            int p = offset + HEADER;
+            if (payload < FIXED_PAYLOAD || p + payload > segmentSize
+                    || buffer.getInt(p + payload - Integer.BYTES) != crc(buffer, p, payload - Integer.BYTES)) {
+                break;
+            }
+            index(new UUID(buffer.getLong(p + 16), buffer.getLong(p + 24)), position(segment, offset));
+            offset = p + payload;
+        }
+        return offset;
+    }
+
+    private void roll() {
+        String name = String.format("%s%010d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX);
+        segments.add(map(directory.resolve(name)));
+        writeOffset = 0;
+    }
+
+    private MappedByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void index(UUID userId, long position) {
+        all.add(position);
+        byUser.computeIfAbsent(userId, k -> new LongList()).add(position);
+    }
+
+    private static long position(int segment, int offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    private static int crc(MappedByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static final class LongList {
+        private long[] values = new long[8];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] range(long offset, int limit) {
+            if (offset >= size) return new long[0];
+            int from = (int) offset;
+            return Arrays.copyOfRange(values, from, (int) Math.min(size, offset + limit));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.user.PhoneDTO;
+import cl.exercise.users.dto.user.UserResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Lectura de USERS para exportación con un cursor JDBC de solo avance, sin pasar por el contexto
+ * de persistencia. Los teléfonos llegan en la misma consulta ordenada por usuario, por lo que
+ * solo se mantiene en memoria el usuario que se está armando. La consulta corre en una transacción
+ * de solo lectura: fuera de ella algunos drivers (PostgreSQL) ignoran el tamaño de lectura y cargan
+ * el resultado completo.
+ */
+@Repository
+public class UserExportRepository {
+
+    private static final String SELECT_USERS =
+            "SELECT u.id, u.name, u.email, u.creation_date, u.update_date, u.last_login, u.is_active FROM USERS u";
+    private static final String SELECT_USERS_WITH_PHONES =
+            "SELECT u.id, u.name, u.email, u.creation_date, u.update_date, u.last_login, u.is_active, "
+                    + "p.phone_number, p.cod_city, p.cod_country "
+                    + "FROM USERS u LEFT JOIN PHONE_LIST p ON p.user_id = u.id";
+    private static final String WHERE_ACTIVE = " WHERE u.is_active = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserExportRepository(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.users.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void streamUsers(Boolean isActive, boolean withPhones, Consumer<UserResponseDTO> consumer) {
+        String sql = (withPhones ? SELECT_USERS_WITH_PHONES : SELECT_USERS)
+                + (isActive != null ? WHERE_ACTIVE : "")
+                + (withPhones ? " ORDER BY u.id, p.id" : " ORDER BY u.id");
+        Object[] args = isActive != null ? new Object[]{isActive} : new Object[0];
+        UserGrouper grouper = new UserGrouper(withPhones, consumer);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query(sql, grouper, args);
+            grouper.finish();
+        });
+    }
+
+    private static final class UserGrouper implements RowCallbackHandler {
+        private final boolean withPhones;
+        private final Consumer<UserResponseDTO> consumer;
+        private UserResponseDTO current;
+
+        private UserGrouper(boolean withPhones, Consumer<UserResponseDTO> consumer) {
+            this.withPhones = withPhones;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID id = rs.getObject("id", UUID.class);
+            if (current == null || !current.getId().equals(id)) {
+                finish();
+                current = mapUser(rs, id);
+            }
+            if (withPhones && rs.getString("phone_number") != null) {
+                PhoneDTO phone = new PhoneDTO();
+                phone.setPhoneNumber(rs.getString("phone_number"));
+                phone.setCodCity(rs.getString("cod_city"));
+                phone.setCodCountry(rs.getString("cod_country"));
+                current.getPhoneList().add(phone);
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+
+        private static UserResponseDTO mapUser(ResultSet rs, UUID id) throws SQLException {
+            UserResponseDTO dto = new UserResponseDTO();
+            dto.setId(id);
+            dto.setName(rs.getString("name"));
+            dto.setEmail(rs.getString("email"));
+            dto.setPhoneList(new ArrayList<>());
+            dto.setCreated(toText(rs.getTimestamp("creation_date")));
+            dto.setModified(toText(rs.getTimestamp("update_date")));
+            dto.setLastLogin(toText(rs.getTimestamp("last_login")));
+            dto.setActive(rs.getBoolean("is_active"));
+            return dto;
+        }
+
+        private static String toText(Timestamp timestamp) {
+            return String.valueOf(timestamp == null ? null : timestamp.toLocalDateTime());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.log.UserLogDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archivo frío de USER_LOG: un archivo NDJSON comprimido con gzip por día de creación.
+ * Cada escritura agrega un nuevo miembro gzip al final del archivo, por lo que nunca se reescribe
+ * lo ya archivado y {@link GZIPInputStream} lee el archivo completo de forma continua. Las lecturas
+ * comparten un candado con las escrituras para no leer un miembro gzip a medio escribir.
+ */
+@Repository
+public class UserLogArchiveRepository {
+
+    private static final String FILE_PREFIX = "user-log-";
+    private static final String FILE_SUFFIX = ".ndjson.gz";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public UserLogArchiveRepository(@Value("${app.audit.archive.dir:./data/audit-archive}") String directory,
+                                    ObjectMapper objectMapper) {
+        this.directory = Paths.get(directory);
+        this.objectMapper = objectMapper;
+    }
+
+    public void append(LocalDate day, List<UserLogDTO> logs) {
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            try (FileOutputStream file = new FileOutputStream(file(day).toFile(), true)) {
+                GZIPOutputStream gzip = new GZIPOutputStream(file, 8192);
+                for (UserLogDTO log : logs) {
+                    gzip.write(objectMapper.writeValueAsBytes(log));
+                    gzip.write('\n');
+                }
+                gzip.finish();
+                // Se sincroniza a disco antes de que el job borre las filas de USER_LOG.
+                file.getFD().sync();
+                gzip.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registros archivados entre {@code from} y {@code to} (inclusive), opcionalmente de un solo usuario.
+     * Se leen en orden de archivo saltando los primeros {@code offset} y se detiene al juntar {@code limit}.
+     */
+    public List<UserLogDTO> read(LocalDate from, LocalDate to, UUID userId, long offset, int limit) {
+        List<UserLogDTO> result = new ArrayList<>(Math.min(limit, 1024));
+        String idUser = userId == null ? null : userId.toString();
+        long skipped = 0;
+        lock.readLock().lock();
+        try {
+            for (LocalDate day = from; !day.isAfter(to) && result.size() < limit; day = day.plusDays(1)) {
+                Path file = file(day);
+                if (!Files.exists(file)) continue;
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                    String line;
+                    while (result.size() < limit && (line = reader.readLine()) != null) {
+                        UserLogDTO log = objectMapper.readValue(line, UserLogDTO.class);
+                        if (idUser != null && !idUser.equals(log.getIdUser())) continue;
+                        if (skipped < offset) {
+                            skipped++;
+                        } else {
+                            result.add(log);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private Path file(LocalDate day) {
+        return directory.resolve(FILE_PREFIX + day + FILE_SUFFIX);
+    }
+}
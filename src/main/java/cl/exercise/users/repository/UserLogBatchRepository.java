@@ -0,0 +1,49 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.log.UserLogEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class UserLogBatchRepository {
+
+    private static final String INSERT_LOG =
+            "INSERT INTO USER_LOG (id, usuario_id, action, creation_date) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_OLDER_THAN =
+            "SELECT id, usuario_id, action, creation_date FROM USER_LOG WHERE creation_date < ? "
+                    + "ORDER BY creation_date, id LIMIT ?";
+    private static final String DELETE_LOG = "DELETE FROM USER_LOG WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserLogBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<UserLogEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_LOG, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.id());
+            ps.setObject(2, event.userId());
+            ps.setString(3, event.action());
+            ps.setTimestamp(4, Timestamp.valueOf(event.creationDate()));
+        });
+    }
+
+    public List<UserLogEvent> findOlderThan(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.query(SELECT_OLDER_THAN, (rs, rowNum) -> new UserLogEvent(
+                rs.getObject("id", UUID.class),
+                rs.getObject("usuario_id", UUID.class),
+                rs.getString("action"),
+                rs.getTimestamp("creation_date").toLocalDateTime()), Timestamp.valueOf(cutoff), limit);
+    }
+
+    public void deleteAll(List<UserLogEvent> events) {
+        jdbcTemplate.batchUpdate(DELETE_LOG, events, events.size(),
+                (ps, event) -> ps.setObject(1, event.id()));
+    }
+}
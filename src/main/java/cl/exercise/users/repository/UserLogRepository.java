@@ -1,15 +1,36 @@
 package cl.exercise.users.repository;
 
+import cl.exercise.users.dto.log.UserLogDTO;
 import cl.exercise.users.model.UserLogModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
 public interface UserLogRepository extends JpaRepository<UserLogModel, UUID> {
 
-    Page<UserLogModel> findByUserModel_Id(UUID userId, Pageable pageable);
+    @Query(value = "SELECT new cl.exercise.users.dto.log.UserLogDTO(l.id, l.userModel.id, l.action, l.creationDate) " +
+            "FROM UserLogModel l",
+            countQuery = "SELECT COUNT(l) FROM UserLogModel l")
+    Page<UserLogDTO> findAllLogs(Pageable pageable);
 
+    @Query(value = "SELECT new cl.exercise.users.dto.log.UserLogDTO(l.id, l.userModel.id, l.action, l.creationDate) " +
+            "FROM UserLogModel l WHERE l.userModel.id = :userId",
+            countQuery = "SELECT COUNT(l) FROM UserLogModel l WHERE l.userModel.id = :userId")
+    Page<UserLogDTO> findLogsByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("SELECT new cl.exercise.users.dto.log.UserLogDTO(l.id, l.userModel.id, l.action, l.creationDate) " +
+            "FROM UserLogModel l")
+    Slice<UserLogDTO> findLogSlice(Pageable pageable);
+
+    @Query("SELECT new cl.exercise.users.dto.log.UserLogDTO(l.id, l.userModel.id, l.action, l.creationDate) " +
+            "FROM UserLogModel l WHERE l.userModel.id = :userId")
+    Slice<UserLogDTO> findLogSliceByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    long countByUserModel_Id(UUID userId);
 
 }
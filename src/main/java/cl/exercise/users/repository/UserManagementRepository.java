@@ -1,13 +1,86 @@
 package cl.exercise.users.repository;
 
 import cl.exercise.users.model.UserModel;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface UserManagementRepository extends JpaRepository<UserModel, UUID> {
 
-    boolean existsByEmail(String email);
-    UserModel findByEmailIgnoreCase(String email);
+    boolean existsByEmailKey(String emailKey);
+
+    boolean existsByEmailKeyAndIdNot(String emailKey, UUID id);
+
+    @Query("SELECT u.emailKey FROM UserModel u WHERE u.emailKey IN :emailKeys")
+    List<String> findExistingEmailKeys(@Param("emailKeys") Collection<String> emailKeys);
+
+    @EntityGraph(attributePaths = "phoneList")
+    Optional<UserModel> findByEmailKey(String emailKey);
+
+    @Query("SELECT u.id AS id, u.creationDate AS creationDate, u.updateDate AS updateDate " +
+            "FROM UserModel u WHERE u.emailKey = :emailKey")
+    Optional<UserVersionView> findVersionByEmailKey(@Param("emailKey") String emailKey);
+
+    @Query("SELECT u.isActive AS isActive, u.token AS token FROM UserModel u WHERE u.id = :id")
+    Optional<UserTokenView> findTokenById(@Param("id") UUID id);
+
+    @Query("SELECT DISTINCT u FROM UserModel u LEFT JOIN FETCH u.phoneList WHERE u.id IN :ids")
+    List<UserModel> findWithPhonesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    Page<UserModel> findByIsActive(Boolean isActive, Pageable pageable);
+
+    Slice<UserModel> findAllBy(Pageable pageable);
+    Slice<UserModel> findSliceByIsActive(Boolean isActive, Pageable pageable);
+    long countByIsActive(Boolean isActive);
+
+    List<UserModel> findAllByOrderByCreationDateAscIdAsc(Limit limit);
+
+    @Query("SELECT u FROM UserModel u " +
+            "WHERE u.creationDate > :creationDate " +
+            "OR (u.creationDate = :creationDate AND u.id > :id) " +
+            "ORDER BY u.creationDate, u.id")
+    List<UserModel> findPageAfter(@Param("creationDate") LocalDateTime creationDate,
+                                  @Param("id") UUID id,
+                                  Limit limit);
+
+    List<UserModel> findByIsActiveOrderByCreationDateAscIdAsc(Boolean isActive, Limit limit);
+
+    @Query("SELECT u FROM UserModel u " +
+            "WHERE u.isActive = :isActive " +
+            "AND (u.creationDate > :creationDate " +
+            "OR (u.creationDate = :creationDate AND u.id > :id)) " +
+            "ORDER BY u.creationDate, u.id")
+    List<UserModel> findPageAfterByIsActive(@Param("isActive") Boolean isActive,
+                                            @Param("creationDate") LocalDateTime creationDate,
+                                            @Param("id") UUID id,
+                                            Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id AS id, u.isActive AS isActive FROM UserModel u WHERE u.id IN :ids")
+    List<UserStatusView> findStatusByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE UserModel u SET u.isActive = true, u.updateDate = :now, u.lastLogin = :now " +
+            "WHERE u.id IN :ids AND u.isActive = false")
+    int activateByIdIn(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE UserModel u SET u.isActive = false, u.updateDate = :now " +
+            "WHERE u.id IN :ids AND u.isActive = true")
+    int deactivateByIdIn(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
 
 }
@@ -0,0 +1,14 @@
+package cl.exercise.users.repository;
+
+import java.util.UUID;
+
+/**
+ * Proyección mínima de USERS para cambios de estado masivos.
+ */
+public interface UserStatusView {
+
+    UUID getId();
+
+    Boolean getIsActive();
+
+}
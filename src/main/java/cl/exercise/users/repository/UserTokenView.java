@@ -0,0 +1,12 @@
+package cl.exercise.users.repository;
+
+/**
+ * Proyección de USERS con lo necesario para aceptar un token: estado y último token emitido.
+ */
+public interface UserTokenView {
+
+    Boolean getIsActive();
+
+    String getToken();
+
+}
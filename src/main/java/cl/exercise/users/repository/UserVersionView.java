@@ -0,0 +1,17 @@
+package cl.exercise.users.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección mínima de USERS para calcular el ETag de un usuario sin cargar la entidad.
+ */
+public interface UserVersionView {
+
+    UUID getId();
+
+    LocalDateTime getCreationDate();
+
+    LocalDateTime getUpdateDate();
+
+}
@@ -0,0 +1,9 @@
+package cl.exercise.users.service;
+
+import java.util.UUID;
+
+public interface AuditLogWriter {
+
+    void append(UUID userId, String action);
+
+}
@@ -0,0 +1,9 @@
+package cl.exercise.users.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordHashingService {
+
+    CompletableFuture<String> encode(String rawPassword);
+
+}
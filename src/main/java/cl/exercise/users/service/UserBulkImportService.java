@@ -0,0 +1,15 @@
+package cl.exercise.users.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface UserBulkImportService {
+
+    /**
+     * Lee usuarios en NDJSON desde {@code input} y escribe en {@code output} una línea de resultado
+     * por cada línea recibida, a medida que se confirma cada bloque.
+     */
+    void importUsers(InputStream input, OutputStream output) throws IOException;
+
+}
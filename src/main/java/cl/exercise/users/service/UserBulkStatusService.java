@@ -0,0 +1,13 @@
+package cl.exercise.users.service;
+
+import cl.exercise.users.dto.user.BulkStatusResultDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UserBulkStatusService {
+
+    List<BulkStatusResultDTO> activateUsers(List<UUID> ids);
+    List<BulkStatusResultDTO> deactivateUsers(List<UUID> ids);
+
+}
@@ -0,0 +1,12 @@
+package cl.exercise.users.service;
+
+import cl.exercise.users.util.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    void exportUsers(OutputStream output, ExportFormat format, String status, boolean withPhones) throws IOException;
+
+}
@@ -2,11 +2,17 @@ package cl.exercise.users.service;
 
 import cl.exercise.users.dto.log.UserLogDTO;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 public interface UserLogService {
 
     Page<UserLogDTO> getAllLog(Integer page, Integer size, UUID userId);
+    Page<UserLogDTO> getAllLogWithCachedTotal(Integer page, Integer size, UUID userId);
+    Slice<UserLogDTO> getLogSlice(Integer page, Integer size, UUID userId);
+    Slice<UserLogDTO> getArchivedLog(LocalDate from, LocalDate to, UUID userId, Integer page, Integer size);
+    String getLogsVersion();
 
 }
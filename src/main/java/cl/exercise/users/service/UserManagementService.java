@@ -1,19 +1,27 @@
 package cl.exercise.users.service;
 
+import cl.exercise.users.dto.CursorPageDTO;
 import cl.exercise.users.dto.ServiceResponseDTO;
 import cl.exercise.users.dto.user.UserRequestDTO;
 import cl.exercise.users.dto.user.UserResponseDTO;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserManagementService {
 
-    ServiceResponseDTO addUser(UserRequestDTO user) throws JsonProcessingException;
+    CompletableFuture<ServiceResponseDTO> addUser(UserRequestDTO user);
     UserResponseDTO getByEmail(String email);
+    byte[] getByEmailJson(String email);
+    String getUserVersion(String email);
+    String getUsersVersion();
     Page<UserResponseDTO> getAllUser(Integer page, Integer size, String sortBy, String status);
-    UserResponseDTO updateUser(UUID id, UserRequestDTO user);
+    Page<UserResponseDTO> getAllUserWithCachedTotal(Integer page, Integer size, String sortBy, String status);
+    Slice<UserResponseDTO> getUserSlice(Integer page, Integer size, String sortBy, String status);
+    CursorPageDTO<UserResponseDTO> getUsersAfter(String after, Integer size, String status);
+    CompletableFuture<UserResponseDTO> updateUser(UUID id, UserRequestDTO user);
     void deleteUser(UUID id);
     void activateUser(UUID id);
 }
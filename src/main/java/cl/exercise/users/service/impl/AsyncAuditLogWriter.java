@@ -0,0 +1,219 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.dto.log.UserLogEvent;
+import cl.exercise.users.repository.UserLogBatchRepository;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.RecordCounters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritura diferida: los registros se encolan al confirmar la transacción y un hilo en segundo
+ * plano los inserta en USER_LOG en lotes JDBC, cuando se completa un lote o vence el intervalo.
+ * <ul>
+ *     <li>{@code BLOCK}: espera hasta {@code block-timeout-ms} por espacio en la cola y luego descarta.</li>
+ *     <li>{@code DROP}: descarta de inmediato si la cola está llena.</li>
+ *     <li>{@code CALLER_RUNS}: si la cola está llena, el hilo que escribe inserta el registro directamente.</li>
+ * </ul>
+ * Con {@code drain-on-shutdown} los registros encolados se escriben antes de detener la aplicación.
+ * Si falla un lote se reintenta fila por fila; los registros que aun así fallan se registran en ERROR.
+ */
+@Slf4j
+@Service
+@ConditionalOnExpression("'${app.audit.backend:jpa}' == 'jpa' and '${app.audit.write-mode:sync}' == 'async'")
+public class AsyncAuditLogWriter implements AuditLogWriter {
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        CALLER_RUNS
+    }
+
+    private final UserLogBatchRepository userLogBatchRepository;
+    private final IdGenerator idGenerator;
+    private final RecordCounters recordCounters;
+    private final BlockingQueue<UserLogEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final boolean drainOnShutdown;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public AsyncAuditLogWriter(UserLogBatchRepository userLogBatchRepository,
+                               IdGenerator idGenerator,
+                               RecordCounters recordCounters,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.audit.async.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.audit.async.batch-size:200}") int batchSize,
+                               @Value("${app.audit.async.flush-interval-ms:200}") long flushIntervalMillis,
+                               @Value("${app.audit.async.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                               @Value("${app.audit.async.block-timeout-ms:1000}") long blockTimeoutMillis,
+                               @Value("${app.audit.async.drain-on-shutdown:true}") boolean drainOnShutdown) {
+        this.userLogBatchRepository = userLogBatchRepository;
+        this.idGenerator = idGenerator;
+        this.recordCounters = recordCounters;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.drainOnShutdown = drainOnShutdown;
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush.latency").register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.events.written").register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped").register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.events.failed").register(meterRegistry);
+        this.flusher = new Thread(this::runFlusher, "audit-log-writer");
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+
+    @Override
+    public void append(UUID userId, String action) {
+        UserLogEvent event = new UserLogEvent(idGenerator.nextId(), userId, action, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private void enqueue(UserLogEvent event) {
+        if (queue.offer(event)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case CALLER_RUNS -> flush(List.of(event));
+            case BLOCK -> {
+                try {
+                    if (queue.offer(event, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(event);
+            }
+            case DROP -> drop(event);
+        }
+    }
+
+    private void drop(UserLogEvent event) {
+        droppedCounter.increment();
+        log.warn("AsyncAuditLogWriter:::enqueue: cola llena, se descarta log {} del usuario {}",
+                event.action(), event.userId());
+    }
+
+    private void runFlusher() {
+        List<UserLogEvent> batch = new ArrayList<>(batchSize);
+        while (running || (drainOnShutdown && !queue.isEmpty())) {
+            try {
+                UserLogEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    UserLogEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<UserLogEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            userLogBatchRepository.insertAll(batch);
+            writtenCounter.increment(batch.size());
+            batch.forEach(event -> recordCounters.logInserted(event.userId()));
+        } catch (RuntimeException e) {
+            log.warn("AsyncAuditLogWriter:::flush: error al escribir lote de {} logs, se reintenta por fila",
+                    batch.size(), e);
+            batch.forEach(this::insertOne);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Sin transacción el lote puede quedar escrito a medias; un id duplicado indica que la fila ya está.
+    private void insertOne(UserLogEvent event) {
+        try {
+            userLogBatchRepository.insertAll(List.of(event));
+        } catch (DuplicateKeyException e) {
+            log.debug("AsyncAuditLogWriter:::insertOne: log {} ya escrito", event.id());
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("AsyncAuditLogWriter:::insertOne: se pierde log {} del usuario {} ({})",
+                    event.action(), event.userId(), event.creationDate(), e);
+            return;
+        }
+        writtenCounter.increment();
+        recordCounters.logInserted(event.userId());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (!drainOnShutdown) {
+            flusher.interrupt();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("AsyncAuditLogWriter:::shutdown: {} logs sin escribir", queue.size());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.model.UserLogModel;
+import cl.exercise.users.repository.UserLogRepository;
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.RecordCounters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Escritura síncrona: el registro se inserta dentro de la transacción que lo genera.
+ */
+@Service
+@ConditionalOnExpression("'${app.audit.backend:jpa}' == 'jpa' and '${app.audit.write-mode:sync}' == 'sync'")
+public class JpaAuditLogWriter implements AuditLogWriter {
+
+    private final UserLogRepository userLogRepository;
+    private final UserManagementRepository userManagementRepository;
+    private final IdGenerator idGenerator;
+    private final RecordCounters recordCounters;
+
+    public JpaAuditLogWriter(UserLogRepository userLogRepository,
+                             UserManagementRepository userManagementRepository,
+                             IdGenerator idGenerator,
+                             RecordCounters recordCounters) {
+        this.userLogRepository = userLogRepository;
+        this.userManagementRepository = userManagementRepository;
+        this.idGenerator = idGenerator;
+        this.recordCounters = recordCounters;
+    }
+
+    @Override
+    public void append(UUID userId, String action) {
+        UserLogModel log = new UserLogModel();
+        log.setId(idGenerator.nextId());
+        log.setUserModel(userManagementRepository.getReferenceById(userId));
+        log.setAction(action);
+        log.setCreationDate(LocalDateTime.now());
+        userLogRepository.save(log);
+        recordCounters.logInserted(userId);
+    }
+}
@@ -0,0 +1,44 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.exception.ServiceUnavailableException;
+import cl.exercise.users.service.PasswordHashingService;
+import cl.exercise.users.util.BoundedExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calcula los hash de contraseña fuera de los hilos de Tomcat, en un pool del tamaño de los núcleos
+ * con una cola acotada. Si la cola está llena se rechaza de inmediato con
+ * {@link ServiceUnavailableException} (503) en lugar de acumular solicitudes.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final BoundedExecutor executor;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.security.hashing.threads:0}") int threads,
+                                      @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new BoundedExecutor("password-hashing", poolSize, queueCapacity,
+                meterRegistry, "password.hashing");
+    }
+
+    @Override
+    public CompletableFuture<String> encode(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
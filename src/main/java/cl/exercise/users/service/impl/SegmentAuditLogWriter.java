@@ -0,0 +1,44 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.dto.log.UserLogEvent;
+import cl.exercise.users.repository.SegmentAuditStore;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.util.IdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Anexa el registro al {@link SegmentAuditStore} una vez confirmada la transacción del usuario.
+ */
+@Service
+@ConditionalOnProperty(name = "app.audit.backend", havingValue = "segment")
+public class SegmentAuditLogWriter implements AuditLogWriter {
+
+    private final SegmentAuditStore segmentAuditStore;
+    private final IdGenerator idGenerator;
+
+    public SegmentAuditLogWriter(SegmentAuditStore segmentAuditStore, IdGenerator idGenerator) {
+        this.segmentAuditStore = segmentAuditStore;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public void append(UUID userId, String action) {
+        UserLogEvent event = new UserLogEvent(idGenerator.nextId(), userId, action, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            segmentAuditStore.append(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                segmentAuditStore.append(event);
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.dto.log.UserLogDTO;
+import cl.exercise.users.exception.NotSupportedException;
+import cl.exercise.users.repository.SegmentAuditStore;
+import cl.exercise.users.service.UserLogService;
+import cl.exercise.users.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.*;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consulta de logs sobre {@link SegmentAuditStore}; el total sale del índice en memoria,
+ * por lo que los tres modos de conteo tienen el mismo costo.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.audit.backend", havingValue = "segment")
+public class SegmentUserLogServiceImpl implements UserLogService {
+
+    private final SegmentAuditStore segmentAuditStore;
+
+    public SegmentUserLogServiceImpl(SegmentAuditStore segmentAuditStore) {
+        this.segmentAuditStore = segmentAuditStore;
+    }
+
+    @Override
+    public Page<UserLogDTO> getAllLog(Integer page, Integer size, UUID userId) {
+        log.info("SegmentUserLogServiceImpl:::getAllLog");
+        Pageable pageable = buildPageable(page, size);
+        List<UserLogDTO> content = segmentAuditStore.read(userId, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, segmentAuditStore.count(userId));
+    }
+
+    @Override
+    public Page<UserLogDTO> getAllLogWithCachedTotal(Integer page, Integer size, UUID userId) {
+        return getAllLog(page, size, userId);
+    }
+
+    @Override
+    public Slice<UserLogDTO> getLogSlice(Integer page, Integer size, UUID userId) {
+        log.info("SegmentUserLogServiceImpl:::getLogSlice");
+        Pageable pageable = buildPageable(page, size);
+        List<UserLogDTO> content = segmentAuditStore.read(userId, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Slice<UserLogDTO> getArchivedLog(LocalDate from, LocalDate to, UUID userId, Integer page, Integer size) {
+        // Los segmentos conservan todo el historial; no hay retención ni archivo.
+        throw new NotSupportedException(Constants.ARCHIVE_NOT_SUPPORTED);
+    }
+
+    // Los segmentos solo crecen: el total de registros identifica el contenido, incluso tras reiniciar.
+    @Override
+    public String getLogsVersion() {
+        return "s-" + segmentAuditStore.count(null);
+    }
+
+    private Pageable buildPageable(Integer page, Integer size) {
+        int currentPage = (page == null || page < 1) ? 0 : page - 1;
+        int pageSize = (size == null || size < 1) ? 10 : size;
+        return PageRequest.of(currentPage, pageSize);
+    }
+
+}
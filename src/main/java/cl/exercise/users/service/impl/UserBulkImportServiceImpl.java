@@ -0,0 +1,334 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.dto.user.BulkImportResultDTO;
+import cl.exercise.users.dto.user.UserRequestDTO;
+import cl.exercise.users.exception.ServiceUnavailableException;
+import cl.exercise.users.exception.ValidationException;
+import cl.exercise.users.mapper.MapperHelper;
+import cl.exercise.users.model.UserModel;
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.service.PasswordHashingService;
+import cl.exercise.users.service.UserBulkImportService;
+import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.EmailBloomFilter;
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.JwtUtil;
+import cl.exercise.users.util.RecordCounters;
+import cl.exercise.users.util.Utils;
+import cl.exercise.users.validator.ValidationHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Importación masiva en bloques de {@code chunk-size} líneas: la memoria usada depende del tamaño
+ * del bloque y no del archivo. Por bloque se valida cada línea, se descartan correos repetidos con
+ * una sola consulta, se calculan los hash de contraseña en {@link PasswordHashingService} con a lo sumo
+ * {@code hashing-parallelism} pendientes (para no llenar la cola que comparte con las altas) y se
+ * insertan usuarios, teléfonos
+ * y logs en una transacción. Si el bloque falla por una restricción de la base de datos (por ejemplo,
+ * un correo registrado en paralelo) se reintenta fila a fila para informar el error en su línea; solo
+ * se informa el correo como registrado si efectivamente existe.
+ */
+@Slf4j
+@Service
+public class UserBulkImportServiceImpl implements UserBulkImportService {
+
+    private final UserManagementRepository userManagementRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final MapperHelper mapperHelper;
+    private final ValidationHandler validationHandler;
+    private final Validator validator;
+    private final JwtUtil jwtUtil;
+    private final PasswordHashingService passwordHashingService;
+    private final RecordCounters recordCounters;
+    private final EmailBloomFilter emailBloomFilter;
+    private final IdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int hashingParallelism;
+
+    public UserBulkImportServiceImpl(UserManagementRepository userManagementRepository,
+                                     AuditLogWriter auditLogWriter,
+                                     MapperHelper mapperHelper,
+                                     ValidationHandler validationHandler,
+                                     Validator validator,
+                                     JwtUtil jwtUtil,
+                                     PasswordHashingService passwordHashingService,
+                                     RecordCounters recordCounters,
+                                     EmailBloomFilter emailBloomFilter,
+                                     IdGenerator idGenerator,
+                                     ObjectMapper objectMapper,
+                                     EntityManager entityManager,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${app.users.bulk.chunk-size:500}") int chunkSize,
+                                     @Value("${app.users.bulk.hashing-parallelism:0}") int hashingParallelism) {
+        this.userManagementRepository = userManagementRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.mapperHelper = mapperHelper;
+        this.validationHandler = validationHandler;
+        this.validator = validator;
+        this.jwtUtil = jwtUtil;
+        this.passwordHashingService = passwordHashingService;
+        this.recordCounters = recordCounters;
+        this.emailBloomFilter = emailBloomFilter;
+        this.idGenerator = idGenerator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.hashingParallelism = hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void importUsers(InputStream input, OutputStream output) throws IOException {
+        log.info("UserBulkImportServiceImpl:::importUsers");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        long created = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            chunk.add(parse(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                created += processChunk(chunk, writer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += processChunk(chunk, writer);
+        }
+        writer.flush();
+        log.info("UserBulkImportServiceImpl:::importUsers líneas: {}, creados: {}", lineNumber, created);
+    }
+
+    private Row parse(long lineNumber, String line) {
+        Row row = new Row(lineNumber);
+        try {
+            row.dto = objectMapper.readValue(line, UserRequestDTO.class);
+            validate(row.dto);
+        } catch (JsonProcessingException e) {
+            row.error = Constants.INVALID_JSON_LINE;
+        } catch (ValidationException e) {
+            row.error = e.getMessage();
+        }
+        return row;
+    }
+
+    private void validate(UserRequestDTO dto) {
+        Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.iterator().next().getMessage());
+        }
+        validationHandler.validateUserRequest(dto);
+        validationHandler.validatePhoneList(dto.getPhoneList());
+    }
+
+    private long processChunk(List<Row> chunk, Writer writer) throws IOException {
+        List<Row> pending = hashPasswords(rejectDuplicates(chunk));
+        long created = write(pending);
+        for (Row row : chunk) {
+            BulkImportResultDTO result = row.error != null
+                    ? BulkImportResultDTO.error(row.line, row.error)
+                    : BulkImportResultDTO.created(row.line, row.id);
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+        return created;
+    }
+
+    /**
+     * Marca como error los correos repetidos dentro del bloque y los ya registrados, con una sola consulta
+     * que solo incluye los correos que el filtro de Bloom no descarta.
+     */
+    private List<Row> rejectDuplicates(List<Row> chunk) {
+        Set<String> seen = new HashSet<>();
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error != null) continue;
+            row.emailKey = Utils.normalizeEmail(row.dto.getEmail());
+            if (!seen.add(row.emailKey)) {
+                row.error = Constants.EMAIL_REGISTERED;
+                continue;
+            }
+            candidates.add(row);
+        }
+        if (candidates.isEmpty()) return candidates;
+
+        Set<String> maybeRegistered = new HashSet<>();
+        for (Row row : candidates) {
+            if (emailBloomFilter.mightContain(row.emailKey)) maybeRegistered.add(row.emailKey);
+        }
+        if (maybeRegistered.isEmpty()) return candidates;
+
+        Set<String> existing = new HashSet<>(userManagementRepository.findExistingEmailKeys(maybeRegistered));
+        for (int i = existing.size(); i < maybeRegistered.size(); i++) {
+            emailBloomFilter.recordFalsePositive();
+        }
+        List<Row> pending = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (existing.contains(row.emailKey)) {
+                row.error = Constants.EMAIL_REGISTERED;
+            } else {
+                pending.add(row);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Devuelve las filas con su hash calculado. Si la cola de hashing está llena se espera al pendiente
+     * más antiguo y se reintenta; sin pendientes propios, la fila se informa como servicio ocupado.
+     * Un hash fallido marca solo su fila con error; el resto del bloque sigue adelante.
+     */
+    private List<Row> hashPasswords(List<Row> pending) {
+        Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>(hashingParallelism);
+        List<Row> hashed = new ArrayList<>(pending.size());
+        for (Row row : pending) {
+            if (inFlight.size() == hashingParallelism) {
+                inFlight.poll().join();
+            }
+            CompletableFuture<Void> future = submitHash(row, inFlight);
+            if (future != null) {
+                inFlight.add(future);
+                hashed.add(row);
+            }
+        }
+        inFlight.forEach(CompletableFuture::join);
+        hashed.removeIf(row -> row.error != null);
+        return hashed;
+    }
+
+    private CompletableFuture<Void> submitHash(Row row, Deque<CompletableFuture<Void>> inFlight) {
+        while (true) {
+            try {
+                // handle() deja el futuro siempre completo sin error, así los join() no lanzan.
+                return passwordHashingService.encode(row.dto.getPasswd()).handle((hash, error) -> {
+                    if (error == null) {
+                        row.passwordHash = hash;
+                    } else {
+                        hashFailed(row, error);
+                    }
+                    return null;
+                });
+            } catch (ServiceUnavailableException e) {
+                if (inFlight.isEmpty()) {
+                    log.warn("UserBulkImportServiceImpl:::hashPasswords línea {} rechazada: cola llena", row.line);
+                    row.error = Constants.SERVICE_BUSY;
+                    return null;
+                }
+                inFlight.poll().join();
+            } catch (RuntimeException e) {
+                hashFailed(row, e);
+                return null;
+            }
+        }
+    }
+
+    private void hashFailed(Row row, Throwable error) {
+        log.error("UserBulkImportServiceImpl:::hashPasswords línea {} sin hash", row.line, error);
+        row.error = Constants.INTERNAL_SERVER;
+    }
+
+    private long write(List<Row> pending) {
+        if (pending.isEmpty()) return 0;
+        pending.forEach(row -> row.id = idGenerator.nextId());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<UserModel> models = pending.stream().map(this::toModel).toList();
+                userManagementRepository.saveAll(models);
+                models.forEach(this::afterInsert);
+                userManagementRepository.flush();
+                entityManager.clear();
+            });
+            return pending.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("UserBulkImportServiceImpl:::write: bloque rechazado, reintentando fila a fila");
+            return writeRowByRow(pending);
+        }
+    }
+
+    private long writeRowByRow(List<Row> pending) {
+        long created = 0;
+        for (Row row : pending) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    UserModel model = toModel(row);
+                    userManagementRepository.saveAndFlush(model);
+                    afterInsert(model);
+                    entityManager.clear();
+                });
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                // La transacción ya se revirtió; se consulta aparte para no atribuir al correo otra restricción.
+                row.error = userManagementRepository.existsByEmailKey(row.emailKey)
+                        ? Constants.EMAIL_REGISTERED
+                        : Constants.USER_REJECTED;
+                log.warn("UserBulkImportServiceImpl:::writeRowByRow línea {} rechazada: {}", row.line, row.error);
+            }
+        }
+        return created;
+    }
+
+    // Se construye una entidad nueva en cada intento: tras un rollback la anterior ya no sirve.
+    private UserModel toModel(Row row) {
+        UserModel model = mapperHelper.toEntity(row.dto, row.passwordHash);
+        model.setId(row.id);
+        model.setCreationDate(LocalDateTime.now());
+        model.setIsActive(true);
+        model.setToken(jwtUtil.generateToken(model));
+        return model;
+    }
+
+    private void afterInsert(UserModel model) {
+        recordCounters.userCreated();
+        emailBloomFilter.add(model.getEmail());
+        auditLogWriter.append(model.getId(), Constants.CREATED);
+    }
+
+    private static final class Row {
+        private final long line;
+        private UserRequestDTO dto;
+        private String emailKey;
+        private String passwordHash;
+        private UUID id;
+        private String error;
+
+        private Row(long line) {
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.dto.user.BulkStatusResultDTO;
+import cl.exercise.users.exception.ValidationException;
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.repository.UserStatusView;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.service.UserBulkStatusService;
+import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.RecordCounters;
+import cl.exercise.users.util.UserCache;
+import cl.exercise.users.util.VerifiedTokenCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Activación y desactivación masiva por lista de IDs. Cada bloque de {@code chunk-size} IDs se procesa
+ * en una transacción: se bloquean las filas leyendo solo su estado, se actualizan con un único UPDATE
+ * y se registran los logs de los usuarios que cambiaron.
+ */
+@Slf4j
+@Service
+public class UserBulkStatusServiceImpl implements UserBulkStatusService {
+
+    private final UserManagementRepository userManagementRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final RecordCounters recordCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCache userCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public UserBulkStatusServiceImpl(UserManagementRepository userManagementRepository,
+                                     AuditLogWriter auditLogWriter,
+                                     RecordCounters recordCounters,
+                                     TransactionTemplate transactionTemplate,
+                                     UserCache userCache,
+                                     VerifiedTokenCache verifiedTokenCache,
+                                     @Value("${app.users.bulk.chunk-size:500}") int chunkSize,
+                                     @Value("${app.users.bulk.max-ids:10000}") int maxIds) {
+        this.userManagementRepository = userManagementRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.recordCounters = recordCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.userCache = userCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    @Override
+    public List<BulkStatusResultDTO> activateUsers(List<UUID> ids) {
+        log.info("UserBulkStatusServiceImpl:::activateUsers ids: {}", ids == null ? 0 : ids.size());
+        return changeStatus(ids, true);
+    }
+
+    @Override
+    public List<BulkStatusResultDTO> deactivateUsers(List<UUID> ids) {
+        log.info("UserBulkStatusServiceImpl:::deactivateUsers ids: {}", ids == null ? 0 : ids.size());
+        return changeStatus(ids, false);
+    }
+
+    private List<BulkStatusResultDTO> changeStatus(List<UUID> ids, boolean active) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxIds || ids.stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException(String.format(Constants.INVALID_ID_LIST, maxIds));
+        }
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<BulkStatusResultDTO> results = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<UUID> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            results.addAll(transactionTemplate.execute(status -> changeChunk(chunk, active)));
+        }
+        return results;
+    }
+
+    private List<BulkStatusResultDTO> changeChunk(List<UUID> chunk, boolean active) {
+        Map<UUID, Boolean> current = new HashMap<>();
+        for (UserStatusView view : userManagementRepository.findStatusByIdIn(chunk)) {
+            current.put(view.getId(), view.getIsActive());
+        }
+
+        List<UUID> toChange = new ArrayList<>();
+        List<BulkStatusResultDTO> results = new ArrayList<>(chunk.size());
+        for (UUID id : chunk) {
+            Boolean isActive = current.get(id);
+            String outcome;
+            if (!current.containsKey(id)) {
+                outcome = BulkStatusResultDTO.NOT_FOUND;
+            } else if (Boolean.valueOf(active).equals(isActive)) {
+                outcome = BulkStatusResultDTO.UNCHANGED;
+            } else {
+                outcome = BulkStatusResultDTO.CHANGED;
+                toChange.add(id);
+            }
+            results.add(new BulkStatusResultDTO(id, outcome));
+        }
+        if (toChange.isEmpty()) return results;
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = active
+                ? userManagementRepository.activateByIdIn(toChange, now)
+                : userManagementRepository.deactivateByIdIn(toChange, now);
+        recordCounters.activeUsersChanged(active ? updated : -updated);
+        String action = active ? Constants.REACTIVATED : Constants.DEACTIVATED;
+        toChange.forEach(id -> {
+            auditLogWriter.append(id, action);
+            userCache.evict(id);
+            if (!active) verifiedTokenCache.evictUser(id);
+        });
+        return results;
+    }
+}
@@ -0,0 +1,89 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.dto.user.UserResponseDTO;
+import cl.exercise.users.repository.UserExportRepository;
+import cl.exercise.users.service.UserExportService;
+import cl.exercise.users.util.ExportFormat;
+import cl.exercise.users.util.Utils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String CSV_HEADER = "id,name,email,created,modified,last_login,isactive,phones";
+
+    private final UserExportRepository userExportRepository;
+    private final ObjectMapper objectMapper;
+
+    public UserExportServiceImpl(UserExportRepository userExportRepository, ObjectMapper objectMapper) {
+        this.userExportRepository = userExportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void exportUsers(OutputStream output, ExportFormat format, String status, boolean withPhones)
+            throws IOException {
+        log.info("UserExportServiceImpl:::exportUsers formato: {}, estado: {}", format, status);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            userExportRepository.streamUsers(Utils.resolveStatus(status), withPhones, user -> {
+                try {
+                    writer.write(format == ExportFormat.CSV ? toCsv(user, withPhones) : toJson(user, withPhones));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private String toJson(UserResponseDTO user, boolean withPhones) throws IOException {
+        if (!withPhones) {
+            user.setPhoneList(null);
+        }
+        return objectMapper.writeValueAsString(user);
+    }
+
+    private String toCsv(UserResponseDTO user, boolean withPhones) {
+        String phones = withPhones
+                ? user.getPhoneList().stream()
+                        .map(p -> p.getCodCountry() + "-" + p.getCodCity() + "-" + p.getPhoneNumber())
+                        .collect(Collectors.joining(";"))
+                : "";
+        return String.join(",",
+                String.valueOf(user.getId()),
+                csv(user.getName()),
+                csv(user.getEmail()),
+                user.getCreated(),
+                user.getModified(),
+                user.getLastLogin(),
+                String.valueOf(user.isActive()),
+                csv(phones));
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,83 @@
+package cl.exercise.users.service.impl;
+
+import cl.exercise.users.dto.log.UserLogDTO;
+import cl.exercise.users.dto.log.UserLogEvent;
+import cl.exercise.users.repository.UserLogArchiveRepository;
+import cl.exercise.users.repository.UserLogBatchRepository;
+import cl.exercise.users.util.RecordCounters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Mueve a {@link UserLogArchiveRepository} los logs más antiguos que {@code max-age-days} y los
+ * elimina de USER_LOG por lotes. Cada lote se archiva y sincroniza a disco antes de borrarse,
+ * por lo que una caída entre ambos pasos solo puede duplicar líneas en el archivo, nunca perderlas.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${app.audit.backend:jpa}' == 'jpa' and ${app.audit.retention.enabled:false}")
+public class UserLogRetentionJob {
+
+    private final UserLogBatchRepository userLogBatchRepository;
+    private final UserLogArchiveRepository userLogArchiveRepository;
+    private final RecordCounters recordCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAgeDays;
+    private final int batchSize;
+
+    public UserLogRetentionJob(UserLogBatchRepository userLogBatchRepository,
+                               UserLogArchiveRepository userLogArchiveRepository,
+                               RecordCounters recordCounters,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.audit.retention.max-age-days:90}") int maxAgeDays,
+                               @Value("${app.audit.retention.batch-size:1000}") int batchSize) {
+        this.userLogBatchRepository = userLogBatchRepository;
+        this.userLogArchiveRepository = userLogArchiveRepository;
+        this.recordCounters = recordCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAgeDays = maxAgeDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.audit.retention.cron:0 0 3 * * *}")
+    public void run() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(maxAgeDays).atStartOfDay();
+        log.info("UserLogRetentionJob:::run archivando logs anteriores a {}", cutoff);
+        long archived = 0;
+        List<UserLogEvent> batch;
+        do {
+            batch = userLogBatchRepository.findOlderThan(cutoff, batchSize);
+            if (batch.isEmpty()) break;
+            archive(batch);
+            archived += batch.size();
+        } while (batch.size() == batchSize);
+        log.info("UserLogRetentionJob:::run logs archivados: {}", archived);
+    }
+
+    private void archive(List<UserLogEvent> batch) {
+        Map<LocalDate, List<UserLogDTO>> byDay = batch.stream().collect(Collectors.groupingBy(
+                event -> event.creationDate().toLocalDate(), TreeMap::new,
+                Collectors.mapping(event -> new UserLogDTO(
+                        event.id(), event.userId(), event.action(), event.creationDate()), Collectors.toList())));
+        byDay.forEach(userLogArchiveRepository::append);
+
+        Map<UUID, Long> removedByUser = batch.stream()
+                .collect(Collectors.groupingBy(UserLogEvent::userId, Collectors.counting()));
+        transactionTemplate.executeWithoutResult(status -> {
+            userLogBatchRepository.deleteAll(batch);
+            recordCounters.logsRemoved(removedByUser);
+        });
+    }
+}
@@ -1,55 +1,106 @@
 package cl.exercise.users.service.impl;
 
 import cl.exercise.users.dto.log.UserLogDTO;
-import cl.exercise.users.mapper.MapperHelper;
-import cl.exercise.users.model.UserLogModel;
+import cl.exercise.users.exception.ValidationException;
+import cl.exercise.users.repository.UserLogArchiveRepository;
 import cl.exercise.users.repository.UserLogRepository;
 import cl.exercise.users.service.UserLogService;
+import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.RecordCounters;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "app.audit.backend", havingValue = "jpa", matchIfMissing = true)
 public class UserLogServiceImpl implements UserLogService {
 
     private final UserLogRepository userLogRepository;
-    private final MapperHelper mapperHelper;
+    private final RecordCounters recordCounters;
+    private final UserLogArchiveRepository userLogArchiveRepository;
+
+    @Value("${app.audit.archive.max-range-days:31}")
+    private int maxArchiveRangeDays = 31;
+
+    @Value("${app.audit.archive.max-page-size:1000}")
+    private int maxArchivePageSize = 1000;
 
     public UserLogServiceImpl(UserLogRepository userLogRepository,
-                              MapperHelper mapperHelper) {
+                              RecordCounters recordCounters,
+                              UserLogArchiveRepository userLogArchiveRepository) {
         this.userLogRepository = userLogRepository;
-        this.mapperHelper = mapperHelper;
+        this.recordCounters = recordCounters;
+        this.userLogArchiveRepository = userLogArchiveRepository;
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserLogDTO> getAllLog(Integer page, Integer size, UUID userId) {
         log.info("UserLogServiceImpl:::getAllLog");
-
-        int currentPage = (page == null || page < 1) ? 0 : page - 1;
-        int pageSize = (size == null || size < 1) ? 10 : size;
-        Pageable pageable = PageRequest.of(currentPage, pageSize);
-
-        Page<UserLogModel> logPage;
+        Pageable pageable = buildPageable(page, size);
 
         if (userId != null) {
             log.info("UserLogServiceImpl:::getAllLog:::Obteniendo Logs para usuario: {}", userId);
-            logPage = userLogRepository.findByUserModel_Id(userId, pageable);
-        } else {
-            log.info("UserLogServiceImpl:::getAllLog:::Obteniendo todo el Log");
-            logPage = userLogRepository.findAll(pageable);
+            return userLogRepository.findLogsByUserId(userId, pageable);
         }
+        log.info("UserLogServiceImpl:::getAllLog:::Obteniendo todo el Log");
+        return userLogRepository.findAllLogs(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserLogDTO> getAllLogWithCachedTotal(Integer page, Integer size, UUID userId) {
+        log.info("UserLogServiceImpl:::getAllLogWithCachedTotal");
+        Slice<UserLogDTO> slice = findLogSlice(buildPageable(page, size), userId);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), recordCounters.countLogs(userId));
+    }
 
-        List<UserLogDTO> logDTOs = logPage.getContent().stream()
-                .map(mapperHelper::mapLogToDTO)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserLogDTO> getLogSlice(Integer page, Integer size, UUID userId) {
+        log.info("UserLogServiceImpl:::getLogSlice");
+        return findLogSlice(buildPageable(page, size), userId);
+    }
 
-        return new PageImpl<>(logDTOs, pageable, logPage.getTotalElements());
+    @Override
+    public Slice<UserLogDTO> getArchivedLog(LocalDate from, LocalDate to, UUID userId, Integer page, Integer size) {
+        log.info("UserLogServiceImpl:::getArchivedLog desde: {}, hasta: {}", from, to);
+        if (from == null || to == null || to.isBefore(from)
+                || ChronoUnit.DAYS.between(from, to) >= maxArchiveRangeDays) {
+            throw new ValidationException(Constants.INVALID_ARCHIVE_RANGE);
+        }
+        Pageable pageable = buildPageable(page, size == null ? null : Math.min(size, maxArchivePageSize));
+        List<UserLogDTO> content = userLogArchiveRepository.read(from, to, userId,
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private Slice<UserLogDTO> findLogSlice(Pageable pageable, UUID userId) {
+        return userId != null
+                ? userLogRepository.findLogSliceByUserId(userId, pageable)
+                : userLogRepository.findLogSlice(pageable);
+    }
+
+    @Override
+    public String getLogsVersion() {
+        return recordCounters.logsVersion();
+    }
+
+    private Pageable buildPageable(Integer page, Integer size) {
+        int currentPage = (page == null || page < 1) ? 0 : page - 1;
+        int pageSize = (size == null || size < 1) ? 10 : size;
+        return PageRequest.of(currentPage, pageSize);
     }
 
 }
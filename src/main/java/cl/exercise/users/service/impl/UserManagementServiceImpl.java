@@ -1,29 +1,47 @@
 package cl.exercise.users.service.impl;
 
+import cl.exercise.users.dto.CursorPageDTO;
 import cl.exercise.users.dto.ServiceResponseDTO;
 import cl.exercise.users.dto.user.UserRequestDTO;
 import cl.exercise.users.dto.user.UserResponseDTO;
 import cl.exercise.users.exception.EmailExistException;
 import cl.exercise.users.exception.ValidationException;
 import cl.exercise.users.mapper.MapperHelper;
-import cl.exercise.users.model.UserLogModel;
 import cl.exercise.users.model.UserModel;
-import cl.exercise.users.repository.UserLogRepository;
 import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.repository.UserVersionView;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.service.PasswordHashingService;
 import cl.exercise.users.util.JwtUtil;
 import cl.exercise.users.service.UserManagementService;
 import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.EmailBloomFilter;
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.PhoneFetchStrategy;
+import cl.exercise.users.util.RecordCounters;
+import cl.exercise.users.util.UserCache;
+import cl.exercise.users.util.UserCursor;
+import cl.exercise.users.util.UserWriteExecutor;
 import cl.exercise.users.util.Utils;
+import cl.exercise.users.util.VerifiedTokenCache;
 import cl.exercise.users.validator.ValidationHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -31,98 +49,322 @@ public class UserManagementServiceImpl implements UserManagementService {
 
     private final ValidationHandler validationHandler;
     private final UserManagementRepository userManagementRepository;
-    private final UserLogRepository userLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final MapperHelper mapperHelper;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final RecordCounters recordCounters;
+    private final IdGenerator idGenerator;
+    private final UserCache userCache;
+    private final EmailBloomFilter emailBloomFilter;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final ObjectMapper objectMapper;
+    private final UserWriteExecutor userWriteExecutor;
+
+    @Value("${app.users.phone-fetch-strategy:BATCH}")
+    private PhoneFetchStrategy phoneFetchStrategy = PhoneFetchStrategy.BATCH;
+
+    @Value("${app.users.page.max-size:100}")
+    private int maxPageSize = 100;
 
     public UserManagementServiceImpl(UserManagementRepository userManagementRepository,
-                                     UserLogRepository userLogRepository,
+                                     AuditLogWriter auditLogWriter,
                                      MapperHelper mapperHelper,
                                      ValidationHandler validationHandler,
                                      JwtUtil jwtUtil,
-                                     PasswordEncoder passwordEncoder) {
+                                     PasswordHashingService passwordHashingService,
+                                     TransactionTemplate transactionTemplate,
+                                     RecordCounters recordCounters,
+                                     IdGenerator idGenerator,
+                                     UserCache userCache,
+                                     EmailBloomFilter emailBloomFilter,
+                                     VerifiedTokenCache verifiedTokenCache,
+                                     ObjectMapper objectMapper,
+                                     UserWriteExecutor userWriteExecutor) {
         this.userManagementRepository = userManagementRepository;
-        this.userLogRepository = userLogRepository;
+        this.auditLogWriter = auditLogWriter;
         this.mapperHelper = mapperHelper;
         this.validationHandler = validationHandler;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = transactionTemplate;
+        this.recordCounters = recordCounters;
+        this.idGenerator = idGenerator;
+        this.userCache = userCache;
+        this.emailBloomFilter = emailBloomFilter;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.objectMapper = objectMapper;
+        this.userWriteExecutor = userWriteExecutor;
     }
 
+    /**
+     * Valida en el hilo de la solicitud, calcula el hash en {@link PasswordHashingService} y continúa
+     * la escritura en {@link UserWriteExecutor}, dentro de una transacción, cuando el hash está listo.
+     */
     @Override
-    @Transactional
-    public ServiceResponseDTO addUser(UserRequestDTO userDto) {
+    public CompletableFuture<ServiceResponseDTO> addUser(UserRequestDTO userDto) {
         log.info("UserManagementServiceImpl:::addUser for eMail: {}", userDto.getEmail());
         validationHandler.validateUserRequest(userDto);
         validationHandler.validatePhoneList(userDto.getPhoneList());
-        if (userManagementRepository.existsByEmail(userDto.getEmail())) {
+        return passwordHashingService.encode(userDto.getPasswd())
+                .thenApplyAsync(hash -> insertUser(userDto, hash), userWriteExecutor::execute);
+    }
+
+    /**
+     * Una violación de restricción se informa como correo registrado solo si el correo existe; se
+     * consulta después del rollback porque la sesión de la transacción fallida ya no es utilizable.
+     */
+    private ServiceResponseDTO insertUser(UserRequestDTO userDto, String passwordHash) {
+        try {
+            return transactionTemplate.execute(status -> insertUserInTransaction(userDto, passwordHash));
+        } catch (DataIntegrityViolationException e) {
+            if (!userManagementRepository.existsByEmailKey(Utils.normalizeEmail(userDto.getEmail()))) {
+                throw e;
+            }
             log.error("UserManagementServiceImpl:::addUser: eMail {} exist", userDto.getEmail());
             throw new EmailExistException(Constants.EMAIL_REGISTERED);
         }
-        UserModel model = mapperHelper.toEntity(userDto);
+    }
+
+    private ServiceResponseDTO insertUserInTransaction(UserRequestDTO userDto, String passwordHash) {
+        UserModel model = mapperHelper.toEntity(userDto, passwordHash);
+        model.setId(idGenerator.nextId());
         model.setCreationDate(LocalDateTime.now());
         model.setIsActive(true);
-        userManagementRepository.save(model);
-        model.setToken(this.generateToken(model));
-        userManagementRepository.save(model);
+        model.setToken(jwtUtil.generateToken(model));
+        userManagementRepository.saveAndFlush(model);
+        recordCounters.userCreated();
+        emailBloomFilter.add(model.getEmail());
 
         updateLog(Constants.CREATED, model);
 
         return mapperHelper.mapToGenericResponse(model);
     }
 
+    // Sin @Transactional: un acierto en caché no debe tomar una conexión; la consulta trae los teléfonos.
     @Override
     public UserResponseDTO getByEmail(String email) {
         log.info("UserManagementServiceImpl:::getByEmail for eMail: {}", email);
         validationHandler.validateEmail(email);
-        if (!userManagementRepository.existsByEmail(email)) {
-            log.error("UserManagementServiceImpl:::getByEmail: eMail {} no exist", email);
-            throw new EmailExistException(Constants.USER_NOT_FOUND_W_EMAIL + email);
+        Optional<UserResponseDTO> cached = userCache.getByEmail(email);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        return loadByEmail(email).user();
+    }
+
+    /**
+     * Igual que {@link #getByEmail(String)}, pero entrega la respuesta ya serializada: un acierto en caché
+     * no carga la entidad, no mapea el DTO ni vuelve a serializar.
+     */
+    @Override
+    public byte[] getByEmailJson(String email) {
+        log.info("UserManagementServiceImpl:::getByEmailJson for eMail: {}", email);
+        validationHandler.validateEmail(email);
+        Optional<byte[]> cached = userCache.getJsonByEmail(email);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        return loadByEmail(email).json();
+    }
+
+    /**
+     * Versión del usuario para su ETag, sin cargar la entidad: sale de la caché o de una proyección.
+     */
+    @Override
+    public String getUserVersion(String email) {
+        log.info("UserManagementServiceImpl:::getUserVersion for eMail: {}", email);
+        validationHandler.validateEmail(email);
+        Optional<String> cached = userCache.getVersionByEmail(email);
+        if (cached.isPresent()) {
+            return cached.get();
         }
-        UserModel user = userManagementRepository.findByEmailIgnoreCase(email);
-        return mapperHelper.mapToUserResponse(user);
+        UserVersionView view = userManagementRepository.findVersionByEmailKey(Utils.normalizeEmail(email))
+                .orElseThrow(() -> userNotFound(email));
+        return Utils.userVersion(view.getId(), Utils.lastModified(view.getCreationDate(), view.getUpdateDate()));
     }
 
     @Override
+    public String getUsersVersion() {
+        return recordCounters.usersVersion();
+    }
+
+    // Las lecturas no usan el filtro de Bloom: es local a cada instancia y no ve las altas de las demás.
+    private LoadedUser loadByEmail(String email) {
+        long loadedAt = userCache.loadStamp();
+        UserModel user = userManagementRepository.findByEmailKey(Utils.normalizeEmail(email))
+                .orElseThrow(() -> userNotFound(email));
+        UserResponseDTO response = mapperHelper.mapToUserResponse(user);
+        byte[] json = toJson(response);
+        userCache.put(response, json, Utils.lastModified(user.getCreationDate(), user.getUpdateDate()), loadedAt);
+        return new LoadedUser(response, json);
+    }
+
+    private EmailExistException userNotFound(String email) {
+        log.error("UserManagementServiceImpl:::getByEmail: eMail {} no exist", email);
+        return new EmailExistException(Constants.USER_NOT_FOUND_W_EMAIL + email);
+    }
+
+    private byte[] toJson(UserResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<UserResponseDTO> getAllUser(Integer page, Integer size, String sortBy, String status) {
         log.info("UserManagementServiceImpl:::getAllUser");
-        int currentPage = (page == null || page < 1) ? 0 : page - 1;
-        int pageSize = (size == null || size < 1) ? 10 : size;
-        String sortField = (sortBy == null || sortBy.isBlank()) ? "creationDate" : sortBy;
-        Pageable pageable = PageRequest.of(currentPage, pageSize, Sort.by(sortField));
+        Pageable pageable = buildPageable(page, size, sortBy);
 
-        Page<UserModel> usuariosPage = userManagementRepository.findAll(pageable);
+        Boolean isActive = Utils.resolveStatus(status);
+        Page<UserModel> usuariosPage = isActive == null
+                ? userManagementRepository.findAll(pageable)
+                : userManagementRepository.findByIsActive(isActive, pageable);
+        loadPhones(usuariosPage.getContent());
 
         List<UserResponseDTO> userList = usuariosPage.getContent().stream()
-                .filter(UserModel -> {
-                    if(Constants.ACTIVE.equalsIgnoreCase(status)) return UserModel.getIsActive();
-                    if(Constants.INACTIVE.equalsIgnoreCase(status)) return !UserModel.getIsActive();
-                    return true;
-                })
                 .map(mapperHelper::mapToUserResponse)
                 .toList();
         return new PageImpl<>(userList, pageable, usuariosPage.getTotalElements());
     }
 
     @Override
-    @Transactional
-    public UserResponseDTO updateUser(UUID id, UserRequestDTO userDto) {
+    @Transactional(readOnly = true)
+    public Page<UserResponseDTO> getAllUserWithCachedTotal(Integer page, Integer size, String sortBy, String status) {
+        log.info("UserManagementServiceImpl:::getAllUserWithCachedTotal");
+        Boolean isActive = Utils.resolveStatus(status);
+        Slice<UserResponseDTO> slice = findUserSlice(buildPageable(page, size, sortBy), isActive);
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), recordCounters.countUsers(isActive));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserResponseDTO> getUserSlice(Integer page, Integer size, String sortBy, String status) {
+        log.info("UserManagementServiceImpl:::getUserSlice");
+        return findUserSlice(buildPageable(page, size, sortBy), Utils.resolveStatus(status));
+    }
+
+    private Slice<UserResponseDTO> findUserSlice(Pageable pageable, Boolean isActive) {
+        Slice<UserModel> usuariosSlice = isActive == null
+                ? userManagementRepository.findAllBy(pageable)
+                : userManagementRepository.findSliceByIsActive(isActive, pageable);
+        loadPhones(usuariosSlice.getContent());
+        return usuariosSlice.map(mapperHelper::mapToUserResponse);
+    }
+
+    private Pageable buildPageable(Integer page, Integer size, String sortBy) {
+        int currentPage = (page == null || page < 1) ? 0 : page - 1;
+        int pageSize = pageSize(size);
+        String sortField = (sortBy == null || sortBy.isBlank()) ? "creationDate" : sortBy;
+        return PageRequest.of(currentPage, pageSize, Sort.by(sortField));
+    }
+
+    // Un tamaño mayor al máximo se reduce a él; sin tamaño se usan 10.
+    private int pageSize(Integer size) {
+        return (size == null || size < 1) ? 10 : Math.min(size, maxPageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserResponseDTO> getUsersAfter(String after, Integer size, String status) {
+        log.info("UserManagementServiceImpl:::getUsersAfter");
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        Boolean isActive = Utils.resolveStatus(status);
+
+        List<UserModel> rows;
+        if (after == null || after.isBlank()) {
+            rows = isActive == null
+                    ? userManagementRepository.findAllByOrderByCreationDateAscIdAsc(limit)
+                    : userManagementRepository.findByIsActiveOrderByCreationDateAscIdAsc(isActive, limit);
+        } else {
+            UserCursor cursor = UserCursor.decode(after);
+            rows = isActive == null
+                    ? userManagementRepository.findPageAfter(cursor.creationDate(), cursor.id(), limit)
+                    : userManagementRepository.findPageAfterByIsActive(
+                            isActive, cursor.creationDate(), cursor.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserModel> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? UserCursor.of(content.get(content.size() - 1)).encode() : null;
+        loadPhones(content);
+
+        List<UserResponseDTO> userList = content.stream()
+                .map(mapperHelper::mapToUserResponse)
+                .toList();
+        return new CursorPageDTO<>(userList, pageSize, hasNext, nextCursor);
+    }
+
+    /**
+     * Sin cambio de contraseña se actualiza de inmediato; con cambio, la escritura espera el hash
+     * calculado en {@link PasswordHashingService} y continúa en {@link UserWriteExecutor}.
+     */
+    @Override
+    public CompletableFuture<UserResponseDTO> updateUser(UUID id, UserRequestDTO userDto) {
         log.info("UserManagementServiceImpl:::updateUser for UUID: {}", id);
+        if (!StringUtils.hasText(userDto.getPasswd())) {
+            return CompletableFuture.supplyAsync(() -> update(id, userDto, null), userWriteExecutor::execute);
+        }
+        validationHandler.validatePassword(userDto.getPasswd());
+        return passwordHashingService.encode(userDto.getPasswd())
+                .thenApplyAsync(hash -> update(id, userDto, hash), userWriteExecutor::execute);
+    }
 
+    /**
+     * Un correo registrado en paralelo, después de la validación, falla al confirmar; se informa como
+     * correo registrado solo si otro usuario lo tiene.
+     */
+    private UserResponseDTO update(UUID id, UserRequestDTO userDto, String passwordHash) {
+        try {
+            return transactionTemplate.execute(status -> applyUpdate(id, userDto, passwordHash));
+        } catch (DataIntegrityViolationException e) {
+            if (!StringUtils.hasText(userDto.getEmail()) ||
+                    !userManagementRepository.existsByEmailKeyAndIdNot(Utils.normalizeEmail(userDto.getEmail()), id)) {
+                throw e;
+            }
+            log.error("UserManagementServiceImpl:::updateUser: eMail {} exist", userDto.getEmail());
+            throw new EmailExistException(Constants.EMAIL_REGISTERED);
+        }
+    }
+
+    private UserResponseDTO applyUpdate(UUID id, UserRequestDTO userDto, String passwordHash) {
         UserModel model = userManagementRepository.findById(id)
                 .orElseThrow(() -> new ValidationException(Constants.USER_NOT_FOUND_W_ID + id));
 
         validationHandler.validateUserIsActive(model);
 
-        Utils.updateBasicInfo(model, userDto, passwordEncoder, validationHandler);
+        // Se valida antes de modificar la entidad: con el correo nuevo ya asignado, el flush automático
+        // de la consulta escribiría la fila y la consulta encontraría al propio usuario.
+        boolean emailChanged = StringUtils.hasText(userDto.getEmail()) &&
+                !Utils.normalizeEmail(userDto.getEmail()).equals(model.getEmailKey());
+        if (emailChanged) {
+            validationHandler.validateEmail(userDto.getEmail());
+            validateEmailAvailable(userDto.getEmail());
+        }
+        boolean claimsChanged = Utils.updateBasicInfo(model, userDto, passwordHash, validationHandler);
         Utils.updatePhones(model, userDto.getPhoneList());
 
-        model.setToken(generateToken(model));
+        // El token solo se vuelve a firmar si cambió un dato incluido en él.
+        if (claimsChanged) {
+            model.setToken(jwtUtil.generateToken(model));
+        }
         model.setUpdateDate(LocalDateTime.now());
         model.setLastLogin(LocalDateTime.now());
 
         UserModel updated = userManagementRepository.save(model);
+        recordCounters.userUpdated();
+        userCache.evict(id);
+        if (claimsChanged) {
+            verifiedTokenCache.evictUser(id);
+        }
+        if (emailChanged) {
+            emailBloomFilter.add(model.getEmail());
+        }
 
         updateLog(Constants.UPDATED, model);
 
@@ -143,6 +385,9 @@ public class UserManagementServiceImpl implements UserManagementService {
         model.setIsActive(false);
         model.setUpdateDate(LocalDateTime.now());
         userManagementRepository.save(model);
+        recordCounters.userDeactivated();
+        userCache.evict(id);
+        verifiedTokenCache.evictUser(id);
 
         updateLog(Constants.DEACTIVATED, model);
     }
@@ -161,22 +406,34 @@ public class UserManagementServiceImpl implements UserManagementService {
         model.setUpdateDate(LocalDateTime.now());
         model.setLastLogin(LocalDateTime.now());
         userManagementRepository.save(model);
+        recordCounters.userActivated();
+        userCache.evict(id);
 
         updateLog(Constants.REACTIVATED, model);
     }
 
-    public String generateToken(UserModel request) {
-        log.info("UserManagementServiceImpl:::generateToken");
-        UserModel model = userManagementRepository.findById(request.getId())
-                .orElseThrow(() -> new ValidationException(Constants.USER_NOT_FOUND));
-        return jwtUtil.generateToken(model);
+    /**
+     * Solo se consulta la base de datos cuando el filtro de Bloom no descarta el correo.
+     */
+    private void validateEmailAvailable(String email) {
+        if (!emailBloomFilter.mightContain(email)) return;
+        if (userManagementRepository.existsByEmailKey(Utils.normalizeEmail(email))) {
+            log.error("UserManagementServiceImpl:::validateEmailAvailable: eMail {} exist", email);
+            throw new EmailExistException(Constants.EMAIL_REGISTERED);
+        }
+        emailBloomFilter.recordFalsePositive();
+    }
+
+    private void loadPhones(List<UserModel> users) {
+        if (phoneFetchStrategy == PhoneFetchStrategy.JOIN && !users.isEmpty()) {
+            userManagementRepository.findWithPhonesByIdIn(users.stream().map(UserModel::getId).toList());
+        }
     }
 
     private void updateLog(String action, UserModel model) {
-        UserLogModel log = new UserLogModel();
-        log.setUserModel(model);
-        log.setAction(action);
-        log.setCreationDate(LocalDateTime.now());
-        userLogRepository.save(log);
+        auditLogWriter.append(model.getId(), action);
+    }
+
+    private record LoadedUser(UserResponseDTO user, byte[] json) {
     }
 }
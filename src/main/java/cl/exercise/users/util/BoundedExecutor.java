@@ -0,0 +1,62 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de tamaño fijo con cola acotada e hilos daemon {@code <name>-N}. Con la cola llena rechaza de
+ * inmediato con {@link ServiceUnavailableException} (503). Publica {@code <metricPrefix>.queue.depth},
+ * {@code <metricPrefix>.active} y {@code <metricPrefix>.rejected}.
+ */
+@Slf4j
+public class BoundedExecutor implements Executor {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejectedCounter;
+
+    public BoundedExecutor(String name, int threads, int queueCapacity,
+                           MeterRegistry meterRegistry, String metricPrefix) {
+        this.name = name;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(name), new ThreadPoolExecutor.AbortPolicy());
+        this.rejectedCounter = Counter.builder(metricPrefix + ".rejected").register(meterRegistry);
+        Gauge.builder(metricPrefix + ".queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder(metricPrefix + ".active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("BoundedExecutor:::execute: cola {} llena ({} pendientes)", name, executor.getQueue().size());
+            throw new ServiceUnavailableException(Constants.SERVICE_BUSY);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
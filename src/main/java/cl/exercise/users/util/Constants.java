@@ -20,9 +20,15 @@ public class Constants {
     public static final String USER_NOT_FOUND_W_ID      = "Usuario no encontrado con ID: ";
     public static final String ACTIVE                   = "activos";
     public static final String INACTIVE                 = "inactivos";
+    public static final String COUNT_EXACT              = "exacto";
+    public static final String COUNT_CACHED             = "cache";
+    public static final String COUNT_NONE               = "ninguno";
+    public static final String EXPORT_NDJSON            = "ndjson";
+    public static final String EXPORT_CSV               = "csv";
     public static final String ALREADY_ACTIVATED        = "El usuario ya está activo";
     public static final String ALREADY_DEACTIVATED      = "El usuario ya esta desactivado";
     public static final String INACTIVE_CANT_UPDATE     = "El usuario está desactivado y no puede ser actualizado";
+    public static final String USER_REJECTED            = "La base de datos rechazó el usuario";
 
     /**
      * Constantes de Validación
@@ -32,8 +38,16 @@ public class Constants {
     public static final String VALIDATION_ERROR         = "Error de validación";
     public static final String BODY_CANT_EMPTY          = "El cuerpo de la solicitud no puede estar vacío";
     public static final String INTERNAL_SERVER          = "Error interno en el servidor";
+    public static final String SERVICE_BUSY             = "El servicio está ocupado, intente nuevamente";
     public static final String INVALID_UUID             = "El ID proporcionado no tiene el formato UUID válido.";
     public static final String INVALID_PARAMETER        = "Parámetro inválido: ";
+    public static final String INVALID_CURSOR           = "El cursor proporcionado no es válido";
+    public static final String INVALID_COUNT_MODE       = "Modo de conteo inválido: ";
+    public static final String INVALID_EXPORT_FORMAT    = "Formato de exportación inválido: ";
+    public static final String INVALID_ID_LIST          = "La lista de IDs debe tener entre 1 y %d elementos";
+    public static final String INVALID_JSON_LINE        = "La línea no es un JSON válido";
+    public static final String INVALID_ARCHIVE_RANGE    = "El rango de fechas del archivo no es válido";
+    public static final String ARCHIVE_NOT_SUPPORTED    = "El almacén de segmentos no archiva logs; el historial completo está en /api/logs";
 
     /**
      * Constantes de Loggeo
@@ -0,0 +1,177 @@
+package cl.exercise.users.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de los {@code email_key} registrados. Responde "seguro que no existe" sin ir a la
+ * base de datos; un "quizás" se confirma con una consulta. Se dimensiona con el número de filas de
+ * USERS y se reconstruye al iniciar; mientras no está listo responde siempre "quizás".
+ */
+@Slf4j
+@Component
+public class EmailBloomFilter {
+
+    private static final String SELECT_EMAIL_KEYS = "SELECT email_key FROM USERS";
+    private static final String COUNT_USERS = "SELECT COUNT(*) FROM USERS";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double targetFpp;
+    private final long minCapacity;
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    private volatile Bits bits;
+    private volatile Bits building;
+
+    public EmailBloomFilter(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.users.bloom.fpp:0.01}") double targetFpp,
+                            @Value("${app.users.bloom.min-capacity:100000}") long minCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.targetFpp = targetFpp;
+        this.minCapacity = minCapacity;
+        this.negatives = Counter.builder("users.email.bloom.probes").tag("result", "negative").register(meterRegistry);
+        this.positives = Counter.builder("users.email.bloom.probes").tag("result", "positive").register(meterRegistry);
+        this.falsePositives = Counter.builder("users.email.bloom.false_positives").register(meterRegistry);
+        Gauge.builder("users.email.bloom.expected_fpp", this, EmailBloomFilter::expectedFpp).register(meterRegistry);
+        Gauge.builder("users.email.bloom.observed_fpp", this, EmailBloomFilter::observedFpp).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Long rows = jdbcTemplate.queryForObject(COUNT_USERS, Long.class);
+        // Se deja holgura para las altas posteriores al arranque.
+        Bits next = new Bits(Math.max(minCapacity, 2 * (rows == null ? 0 : rows)), targetFpp);
+        synchronized (this) {
+            building = next;
+        }
+        jdbcTemplate.query(SELECT_EMAIL_KEYS, rs -> {
+            next.add(rs.getString(1));
+        });
+        synchronized (this) {
+            bits = next;
+            building = null;
+        }
+        log.info("EmailBloomFilter:::rebuild correos: {}, bits: {}, hashes: {}", next.insertions.get(), next.size, next.hashes);
+    }
+
+    public boolean mightContain(String email) {
+        Bits current = bits;
+        if (current == null) return true;
+        boolean result = current.mightContain(Utils.normalizeEmail(email));
+        (result ? positives : negatives).increment();
+        return result;
+    }
+
+    /**
+     * Agrega el correo al confirmar la transacción: así, si una reconstrucción empieza después,
+     * su lectura de USERS ya incluye la fila, y si empezó antes, el correo se agrega a ambos filtros.
+     */
+    public void add(String email) {
+        String key = Utils.normalizeEmail(email);
+        Utils.afterCommit(() -> {
+            Bits next;
+            Bits current;
+            synchronized (this) {
+                next = building;
+                current = bits;
+            }
+            if (next != null) next.add(key);
+            if (current != null) current.add(key);
+        });
+    }
+
+    /**
+     * Registra que un "quizás" resultó no existir en la base de datos.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    double expectedFpp() {
+        Bits current = bits;
+        if (current == null) return 1.0;
+        double fill = 1 - Math.exp(-(double) current.hashes * current.insertions.get() / current.size);
+        return Math.pow(fill, current.hashes);
+    }
+
+    double observedFpp() {
+        double fp = falsePositives.count();
+        double trueNegatives = negatives.count() + fp;
+        return trueNegatives == 0 ? 0.0 : fp / trueNegatives;
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private Bits(long capacity, double fpp) {
+            long m = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.size = (long) wordCount * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+        }
+
+        private void add(String key) {
+            long h = fnv1a(key);
+            long h1 = fmix(h);
+            long h2 = fmix(h ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long prev;
+                do {
+                    prev = words.get(word);
+                } while ((prev & mask) == 0 && !words.compareAndSet(word, prev, prev | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        private boolean mightContain(String key) {
+            long h = fnv1a(key);
+            long h1 = fmix(h);
+            long h2 = fmix(h ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        private static long fnv1a(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // Finalizador de MurmurHash3 para repartir los bits de FNV.
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb53a87e34ec1L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
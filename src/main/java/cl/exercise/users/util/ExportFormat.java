@@ -0,0 +1,28 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.exception.ValidationException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formato de salida de la exportación de usuarios.
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank() || Constants.EXPORT_NDJSON.equalsIgnoreCase(value)) return NDJSON;
+        if (Constants.EXPORT_CSV.equalsIgnoreCase(value)) return CSV;
+        throw new ValidationException(Constants.INVALID_EXPORT_FORMAT + value);
+    }
+}
@@ -0,0 +1,12 @@
+package cl.exercise.users.util;
+
+import java.util.UUID;
+
+/**
+ * Genera los identificadores de USERS y USER_LOG. La implementación se elige con {@code app.id.generator}.
+ */
+public interface IdGenerator {
+
+    UUID nextId();
+
+}
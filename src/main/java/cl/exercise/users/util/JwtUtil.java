@@ -1,43 +1,131 @@
 package cl.exercise.users.util;
 
 import cl.exercise.users.model.UserModel;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Date;
+import java.util.Base64;
 
+/**
+ * Firma tokens HS256 sin pasar por el builder de jjwt: la cabecera va precalculada, los claims se
+ * escriben directamente como JSON y cada hilo reutiliza su propio {@link Mac} ya inicializado con la
+ * clave. El resultado es idéntico byte a byte al que produce jjwt con los mismos claims.
+ */
 @Component
 public class JwtUtil {
 
-    private final Key jwtSecretKey;
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    // {"alg":"HS256"} codificado, seguido del punto que lo separa de los claims.
+    private static final byte[] HEADER = (BASE64_URL.encodeToString(
+            "{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + ".").getBytes(StandardCharsets.US_ASCII);
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final SecretKeySpec signingKey;
+    private final ThreadLocal<Signer> signers;
+    private final ZoneId zone = ZoneId.systemDefault();
 
     @Value("${jwt.expiration.months}")
     private int expirationMonths;
 
     public JwtUtil(Key jwtSecretKey) {
-        this.jwtSecretKey = jwtSecretKey;
+        this.signingKey = new SecretKeySpec(jwtSecretKey.getEncoded(), HMAC_SHA256);
+        this.signers = ThreadLocal.withInitial(() -> new Signer(newMac()));
+        // Falla al iniciar si la clave no sirve para HMAC-SHA256.
+        newMac();
     }
 
     public String generateToken(UserModel user) {
-        Instant now = Instant.now();
-        Date issuedAt = Date.from(now);
-
-        LocalDateTime expirationDateTime = LocalDateTime.now().plusMonths(expirationMonths);
-        Date expiration = Date.from(expirationDateTime.atZone(ZoneId.systemDefault()).toInstant());
-
-        return Jwts.builder()
-                .setSubject(user.getId().toString())
-                .claim("email", user.getEmail())
-                .claim("name", user.getName())
-                .setIssuedAt(issuedAt)
-                .setExpiration(expiration)
-                .signWith(jwtSecretKey, SignatureAlgorithm.HS256)
-                .compact();
+        return generateToken(user, Instant.now());
+    }
+
+    String generateToken(UserModel user, Instant now) {
+        long issuedAt = now.getEpochSecond();
+        long expiration = now.atZone(zone).plusMonths(expirationMonths).toEpochSecond();
+
+        Signer signer = signers.get();
+        StringBuilder json = signer.json;
+        json.setLength(0);
+        // Mismo orden y mismas reglas que jjwt: los claims nulos se omiten.
+        json.append('{');
+        appendString(json, "sub", user.getId() == null ? null : user.getId().toString());
+        appendString(json, "email", user.getEmail());
+        appendString(json, "name", user.getName());
+        appendNumber(json, "iat", issuedAt);
+        appendNumber(json, "exp", expiration);
+        json.setCharAt(json.length() - 1, '}');
+
+        byte[] claims = BASE64_URL.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+        Mac mac = signer.mac;
+        mac.update(HEADER);
+        mac.update(claims);
+        byte[] signature = BASE64_URL.encode(mac.doFinal());
+
+        byte[] token = new byte[HEADER.length + claims.length + 1 + signature.length];
+        System.arraycopy(HEADER, 0, token, 0, HEADER.length);
+        System.arraycopy(claims, 0, token, HEADER.length, claims.length);
+        token[HEADER.length + claims.length] = '.';
+        System.arraycopy(signature, 0, token, HEADER.length + claims.length + 1, signature.length);
+        return new String(token, StandardCharsets.ISO_8859_1);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo inicializar HMAC-SHA256", e);
+        }
+    }
+
+    private static void appendNumber(StringBuilder json, String name, long value) {
+        json.append('"').append(name).append("\":").append(value).append(',');
+    }
+
+    private static void appendString(StringBuilder json, String name, String value) {
+        if (value == null) return;
+        json.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\b' -> json.append("\\b");
+                case '\f' -> json.append("\\f");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else if (Character.isSurrogate(c)) {
+                        // Como jjwt, cada unidad de un carácter fuera del plano básico va escapada en
+                        // hexadecimal; así un surrogate suelto tampoco se pierde al codificar en UTF-8.
+                        json.append("\\u").append(HEX[c >> 12]).append(HEX[(c >> 8) & 0xF])
+                                .append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append("\",");
+    }
+
+    private static final class Signer {
+        private final Mac mac;
+        private final StringBuilder json = new StringBuilder(256);
+
+        private Signer(Mac mac) {
+            this.mac = mac;
+        }
     }
 }
@@ -0,0 +1,24 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.exception.ValidationException;
+
+/**
+ * Forma de calcular el total de registros de un listado paginado.
+ * <ul>
+ *     <li>{@code EXACT}: {@code COUNT(*)} en cada consulta (comportamiento por defecto).</li>
+ *     <li>{@code CACHED}: total tomado de los contadores incrementales de {@link RecordCounters}.</li>
+ *     <li>{@code NONE}: sin total, solo se informa si existe una página siguiente.</li>
+ * </ul>
+ */
+public enum PageCountMode {
+    EXACT,
+    CACHED,
+    NONE;
+
+    public static PageCountMode fromParam(String value) {
+        if (value == null || value.isBlank() || Constants.COUNT_EXACT.equalsIgnoreCase(value)) return EXACT;
+        if (Constants.COUNT_CACHED.equalsIgnoreCase(value)) return CACHED;
+        if (Constants.COUNT_NONE.equalsIgnoreCase(value)) return NONE;
+        throw new ValidationException(Constants.INVALID_COUNT_MODE + value);
+    }
+}
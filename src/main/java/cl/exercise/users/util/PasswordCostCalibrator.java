@@ -0,0 +1,48 @@
+package cl.exercise.users.util;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Elige el costo de BCrypt midiendo en este equipo: sube la fuerza mientras un hash siga tardando
+ * a lo más {@code target}. Cada punto de fuerza duplica el tiempo, por lo que la calibración completa
+ * tarda del orden de unas pocas veces el objetivo.
+ */
+public class PasswordCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibracion123";
+    private static final int SAMPLES = 3;
+
+    private final long targetNanos;
+
+    public PasswordCostCalibrator(Duration target) {
+        this.targetNanos = target.toNanos();
+    }
+
+    public int bcryptStrength(int minStrength, int maxStrength) {
+        return bcryptStrength(minStrength, maxStrength, strength -> time(new BCryptPasswordEncoder(strength)));
+    }
+
+    int bcryptStrength(int minStrength, int maxStrength, IntToLongFunction nanosAtStrength) {
+        int strength = minStrength;
+        while (strength < maxStrength && nanosAtStrength.applyAsLong(strength + 1) <= targetNanos) {
+            strength++;
+        }
+        return strength;
+    }
+
+    // Mejor de varias mediciones tras un calentamiento: descarta pausas del GC y del JIT.
+    private static long time(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,15 @@
+package cl.exercise.users.util;
+
+/**
+ * Estrategia para cargar los teléfonos de los listados de usuarios.
+ * <ul>
+ *     <li>{@code BATCH}: inicialización diferida agrupada por Hibernate
+ *     ({@code hibernate.default_batch_fetch_size}).</li>
+ *     <li>{@code JOIN}: una consulta adicional con {@code JOIN FETCH} sobre los IDs de la página.</li>
+ * </ul>
+ * Con {@code BATCH} y {@code app.users.phone-batch-size=1} se obtiene la carga fila a fila original.
+ */
+public enum PhoneFetchStrategy {
+    BATCH,
+    JOIN
+}
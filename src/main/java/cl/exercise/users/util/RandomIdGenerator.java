@@ -0,0 +1,14 @@
+package cl.exercise.users.util;
+
+import java.util.UUID;
+
+/**
+ * UUID versión 4 (aleatorio), equivalente al {@code @GeneratedValue} original.
+ */
+public class RandomIdGenerator implements IdGenerator {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
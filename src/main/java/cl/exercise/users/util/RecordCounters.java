@@ -0,0 +1,167 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.repository.UserLogRepository;
+import cl.exercise.users.repository.UserManagementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totales de USERS y USER_LOG mantenidos en memoria para paginar sin {@code COUNT(*)}.
+ * Se cargan al iniciar la aplicación y se actualizan al confirmar cada transacción de escritura.
+ * También lleva una versión de cambio de cada tabla, usada como ETag de los listados.
+ * El total de logs por usuario se toma con un {@code COUNT} la primera vez que se pide y solo se guarda
+ * si ninguna escritura de logs estaba pendiente ni se confirmó mientras tanto; si no, se vuelve a contar
+ * en la siguiente consulta.
+ */
+@Slf4j
+@Component
+public class RecordCounters {
+
+    private final UserManagementRepository userManagementRepository;
+    private final UserLogRepository userLogRepository;
+
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong activeUsers = new AtomicLong();
+    private final AtomicLong logs = new AtomicLong();
+    private final Map<UUID, AtomicLong> logsByUser = new ConcurrentHashMap<>();
+    // El instante de arranque evita repetir una versión entregada antes de reiniciar.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong usersVersion = new AtomicLong();
+    private final AtomicLong logsVersion = new AtomicLong();
+    // Escrituras de logs registradas dentro de una transacción que aún no termina.
+    private final AtomicLong pendingLogWrites = new AtomicLong();
+
+    @Value("${app.paging.counters.max-tracked-users:10000}")
+    private int maxTrackedUsers = 10000;
+
+    public RecordCounters(UserManagementRepository userManagementRepository,
+                          UserLogRepository userLogRepository) {
+        this.userManagementRepository = userManagementRepository;
+        this.userLogRepository = userLogRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resync() {
+        users.set(userManagementRepository.count());
+        activeUsers.set(userManagementRepository.countByIsActive(true));
+        logs.set(userLogRepository.count());
+        logsByUser.clear();
+        log.info("RecordCounters:::resync users: {}, activos: {}, logs: {}",
+                users.get(), activeUsers.get(), logs.get());
+    }
+
+    public long countUsers(Boolean isActive) {
+        if (isActive == null) return users.get();
+        long active = activeUsers.get();
+        return isActive ? active : users.get() - active;
+    }
+
+    public long countLogs(UUID userId) {
+        if (userId == null) return logs.get();
+        AtomicLong counter = logsByUser.get(userId);
+        if (counter != null) return counter.get();
+        long version = logsVersion.get();
+        long count = userLogRepository.countByUserModel_Id(userId);
+        if (logsByUser.size() >= maxTrackedUsers) return count;
+        AtomicLong seeded = new AtomicLong(count);
+        counter = logsByUser.putIfAbsent(userId, seeded);
+        if (counter != null) return counter.get();
+        // Una escritura confirmada durante el COUNT, o aún sin confirmar, podría quedar fuera del conteo
+        // o sumarse dos veces: el contador se descarta y se vuelve a sembrar en la próxima consulta.
+        if (logsVersion.get() != version || pendingLogWrites.get() != 0) {
+            logsByUser.remove(userId, seeded);
+        }
+        return count;
+    }
+
+    public String usersVersion() {
+        return epoch + "-" + usersVersion.get();
+    }
+
+    public String logsVersion() {
+        return epoch + "-" + logsVersion.get();
+    }
+
+    public void userCreated() {
+        Utils.afterCommit(() -> {
+            users.incrementAndGet();
+            activeUsers.incrementAndGet();
+            usersVersion.incrementAndGet();
+        });
+    }
+
+    public void userUpdated() {
+        Utils.afterCommit(usersVersion::incrementAndGet);
+    }
+
+    public void userActivated() {
+        Utils.afterCommit(() -> {
+            activeUsers.incrementAndGet();
+            usersVersion.incrementAndGet();
+        });
+    }
+
+    public void userDeactivated() {
+        Utils.afterCommit(() -> {
+            activeUsers.decrementAndGet();
+            usersVersion.incrementAndGet();
+        });
+    }
+
+    public void activeUsersChanged(long delta) {
+        Utils.afterCommit(() -> {
+            activeUsers.addAndGet(delta);
+            usersVersion.incrementAndGet();
+        });
+    }
+
+    public void logInserted(UUID userId) {
+        afterLogCommit(() -> {
+            logs.incrementAndGet();
+            logsVersion.incrementAndGet();
+            AtomicLong counter = logsByUser.get(userId);
+            if (counter != null) counter.incrementAndGet();
+        });
+    }
+
+    public void logsRemoved(Map<UUID, Long> removedByUser) {
+        afterLogCommit(() -> {
+            removedByUser.forEach((userId, removed) -> {
+                logs.addAndGet(-removed);
+                AtomicLong counter = logsByUser.get(userId);
+                if (counter != null) counter.addAndGet(-removed);
+            });
+            logsVersion.incrementAndGet();
+        });
+    }
+
+    // Como Utils.afterCommit, pero la escritura cuenta como pendiente hasta que termina la transacción.
+    private void afterLogCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        pendingLogWrites.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                pendingLogWrites.decrementAndGet();
+            }
+        });
+    }
+}
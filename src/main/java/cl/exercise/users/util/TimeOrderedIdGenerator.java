@@ -0,0 +1,38 @@
+package cl.exercise.users.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUID versión 7 (RFC 9562): 48 bits de timestamp en milisegundos, 12 bits de contador
+ * y 62 bits aleatorios. Los valores crecen con el tiempo, por lo que las inserciones se
+ * agregan al final del índice de la clave primaria en lugar de repartirse por todo el árbol.
+ * Dentro del mismo milisegundo el contador garantiza orden creciente.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private final SecureRandom random = new SecureRandom();
+    private long lastMillis = -1;
+    private int counter;
+
+    @Override
+    public UUID nextId() {
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        long msb;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Se parte en la mitad inferior para dejar margen al contador dentro del milisegundo
+                counter = random.nextInt(MAX_COUNTER / 2);
+            } else if (++counter > MAX_COUNTER) {
+                lastMillis++;
+                counter = 0;
+            }
+            msb = (lastMillis << 16) | (0x7L << 12) | counter;
+        }
+        return new UUID(msb, lsb);
+    }
+}
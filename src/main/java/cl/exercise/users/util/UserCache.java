@@ -0,0 +1,132 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.dto.user.UserResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Caché en memoria de usuarios por ID, con un índice de correo normalizado a ID.
+ * Acotado por tamaño (W-TinyLFU de Caffeine) y por TTL. Las escrituras invalidan la entrada
+ * al confirmar la transacción; una entrada del índice que apunta a un ID invalidado, o a un usuario que ya
+ * no tiene ese correo, se trata como fallo y se descarta.
+ * Cada entrada guarda también la respuesta JSON ya serializada y la versión ({@code updateDate}) de la
+ * que proviene: una lectura más antigua nunca reemplaza a una entrada más reciente. Tampoco se guarda una
+ * lectura iniciada antes de la última invalidación del usuario ({@link #loadStamp()}).
+ */
+@Component
+public class UserCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, CachedUser> byId;
+    private final Cache<String, UUID> idByEmail;
+    private final Cache<UUID, Long> evictedAt;
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${app.cache.users.enabled:true}") boolean enabled,
+                     @Value("${app.cache.users.max-size:10000}") long maxSize,
+                     @Value("${app.cache.users.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Basta con recordar la invalidación mientras pueda quedar una lectura anterior a ella en curso.
+        this.evictedAt = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "users.byEmail");
+    }
+
+    public Optional<UserResponseDTO> getByEmail(String email) {
+        return findByEmail(email).map(CachedUser::user);
+    }
+
+    /**
+     * Respuesta JSON en UTF-8 tal como se envía al cliente; no debe modificarse.
+     */
+    public Optional<byte[]> getJsonByEmail(String email) {
+        return findByEmail(email).map(CachedUser::json);
+    }
+
+    public Optional<String> getVersionByEmail(String email) {
+        return findByEmail(email).map(cached -> Utils.userVersion(cached.user().getId(), cached.version()));
+    }
+
+    /**
+     * Marca de tiempo que se toma antes de leer el usuario de la base de datos y se entrega a {@link #put}.
+     */
+    public long loadStamp() {
+        return System.nanoTime();
+    }
+
+    public void put(UserResponseDTO user, byte[] json, LocalDateTime version, long loadedAt) {
+        if (!enabled) return;
+        UUID id = user.getId();
+        String emailKey = Utils.normalizeEmail(user.getEmail());
+        CachedUser entry = new CachedUser(user, json, version);
+        CachedUser stored = byId.asMap().merge(id, entry, (current, next) -> next.isOlderThan(current) ? current : next);
+        if (stored != entry) {
+            // Ganó una versión más reciente: el correo de esta lectura puede ya no ser del usuario.
+            if (!emailKey.equals(Utils.normalizeEmail(stored.user().getEmail()))) {
+                idByEmail.asMap().remove(emailKey, id);
+            }
+            return;
+        }
+        idByEmail.put(emailKey, id);
+        // Se revisa después de guardar: una invalidación que llegó entre la lectura y el guardado ya quedó
+        // registrada y la entrada se retira; una posterior la elimina por sí misma.
+        Long evicted = evictedAt.getIfPresent(id);
+        if (evicted != null && loadedAt - evicted <= 0 && byId.asMap().remove(id, entry)) {
+            idByEmail.asMap().remove(emailKey, id);
+        }
+    }
+
+    public void evict(UUID id) {
+        if (!enabled) return;
+        Utils.afterCommit(() -> {
+            evictedAt.put(id, System.nanoTime());
+            CachedUser cached = byId.getIfPresent(id);
+            byId.invalidate(id);
+            if (cached != null) {
+                idByEmail.invalidate(Utils.normalizeEmail(cached.user().getEmail()));
+            }
+        });
+    }
+
+    private Optional<CachedUser> findByEmail(String email) {
+        if (!enabled) return Optional.empty();
+        String emailKey = Utils.normalizeEmail(email);
+        UUID id = idByEmail.getIfPresent(emailKey);
+        if (id == null) return Optional.empty();
+        CachedUser cached = byId.getIfPresent(id);
+        if (cached == null || !emailKey.equals(Utils.normalizeEmail(cached.user().getEmail()))) {
+            // El índice quedó de una entrada invalidada o de un correo anterior del usuario.
+            idByEmail.asMap().remove(emailKey, id);
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    private record CachedUser(UserResponseDTO user, byte[] json, LocalDateTime version) {
+
+        private boolean isOlderThan(CachedUser other) {
+            return version != null && other.version != null && version.isBefore(other.version);
+        }
+    }
+}
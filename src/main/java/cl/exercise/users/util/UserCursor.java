@@ -0,0 +1,40 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.exception.ValidationException;
+import cl.exercise.users.model.UserModel;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posición de lectura para la paginación por cursor de usuarios: {@code (creationDate, id)}.
+ * Se expone al cliente como un token opaco en Base64 URL.
+ */
+public record UserCursor(LocalDateTime creationDate, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static UserCursor of(UserModel model) {
+        return new UserCursor(model.getCreationDate(), model.getId());
+    }
+
+    public String encode() {
+        String raw = creationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            return new UserCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    UUID.fromString(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException(Constants.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool acotado para las escrituras de usuarios, de modo que las transacciones JDBC no ocupen los hilos
+ * de Tomcat ni los de hashing, dimensionados para CPU. Con la cola llena se rechaza con
+ * {@link ServiceUnavailableException} (503). Se usa como {@code userWriteExecutor::execute};
+ * no se registra como {@code Executor} para no reemplazar el pool de tareas de Spring Boot.
+ */
+@Component
+public class UserWriteExecutor {
+
+    private final BoundedExecutor executor;
+
+    public UserWriteExecutor(MeterRegistry meterRegistry,
+                             @Value("${app.users.write.threads:10}") int threads,
+                             @Value("${app.users.write.queue-capacity:100}") int queueCapacity) {
+        this.executor = new BoundedExecutor("user-write", threads, queueCapacity, meterRegistry, "users.write");
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -6,11 +6,19 @@ import cl.exercise.users.model.PhoneModel;
 import cl.exercise.users.model.UserModel;
 import cl.exercise.users.validator.ValidationHandler;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 public class Utils {
@@ -19,46 +27,108 @@ public class Utils {
         throw new UnsupportedOperationException("Utils class cannot be instantiated");
     }
 
-    public static void updateBasicInfo(UserModel model,
-                                       UserRequestDTO userDto,
-                                       PasswordEncoder passwordEncoder,
-                                       ValidationHandler validationHandler) {
-        if (StringUtils.hasText(userDto.getName())) {
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Ejecuta la acción al confirmar la transacción actual, o de inmediato si no hay una activa.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Última modificación de un usuario: toda escritura actualiza {@code updateDate}
+     * y un usuario recién creado solo tiene {@code creationDate}.
+     */
+    public static LocalDateTime lastModified(LocalDateTime creationDate, LocalDateTime updateDate) {
+        return updateDate != null ? updateDate : creationDate;
+    }
+
+    public static String userVersion(UUID id, LocalDateTime lastModified) {
+        return id + "-" + lastModified;
+    }
+
+    public static Boolean resolveStatus(String status) {
+        if (Constants.ACTIVE.equalsIgnoreCase(status)) return true;
+        if (Constants.INACTIVE.equalsIgnoreCase(status)) return false;
+        return null;
+    }
+
+    /**
+     * Aplica los campos informados y devuelve {@code true} si cambió alguno de los datos que
+     * {@link JwtUtil#generateToken} incluye en el token (nombre o correo). La contraseña llega ya
+     * validada y convertida en hash ({@code null} si no cambia).
+     */
+    public static boolean updateBasicInfo(UserModel model,
+                                          UserRequestDTO userDto,
+                                          String passwordHash,
+                                          ValidationHandler validationHandler) {
+        boolean claimsChanged = false;
+        if (StringUtils.hasText(userDto.getName()) && !userDto.getName().equals(model.getName())) {
             model.setName(userDto.getName());
+            claimsChanged = true;
         }
+        // Se compara con la clave normalizada, la misma sobre la que se exige unicidad.
         if (StringUtils.hasText(userDto.getEmail()) &&
-                !userDto.getEmail().equalsIgnoreCase(model.getEmail())) {
+                !normalizeEmail(userDto.getEmail()).equals(model.getEmailKey())) {
             validationHandler.validateEmail(userDto.getEmail());
             model.setEmail(userDto.getEmail());
+            claimsChanged = true;
         }
-        if (StringUtils.hasText(userDto.getPasswd())) {
-            validationHandler.validatePassword(userDto.getPasswd());
-            model.setPasswd(passwordEncoder.encode(userDto.getPasswd()));
+        if (passwordHash != null) {
+            model.setPasswd(passwordHash);
         }
+        return claimsChanged;
     }
 
+    /**
+     * Deja los teléfonos del usuario iguales a la lista recibida, indexando por número en una sola pasada:
+     * los existentes se actualizan, los nuevos se agregan y los que no vienen se eliminan (orphanRemoval).
+     * Hibernate solo escribe las filas que cambiaron y agrupa los INSERT, UPDATE y DELETE en lotes
+     * ({@code hibernate.jdbc.batch_size}). Con una lista nula o vacía no se modifica nada.
+     */
     public static void updatePhones(UserModel model, List<PhoneDTO> phoneList) {
         if (phoneList == null || phoneList.isEmpty()) {
             return;
         }
+        Map<String, PhoneDTO> incoming = new LinkedHashMap<>();
         for (PhoneDTO phoneDto : phoneList) {
-            Optional<PhoneModel> existingPhone = model.getPhoneList().stream()
-                    .filter(phone -> phone.getPhoneNumber().equals(phoneDto.getPhoneNumber()))
-                    .findFirst();
+            incoming.put(phoneDto.getPhoneNumber(), phoneDto);
+        }
 
-            if (existingPhone.isPresent()) {
-                PhoneModel phone = existingPhone.get();
+        Set<PhoneModel> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PhoneModel phone : model.getPhoneList()) {
+            PhoneDTO phoneDto = incoming.remove(phone.getPhoneNumber());
+            if (phoneDto == null) {
+                removed.add(phone);
+            } else {
                 phone.setCodCity(phoneDto.getCodCity());
                 phone.setCodCountry(phoneDto.getCodCountry());
-            } else {
-                PhoneModel newPhone = new PhoneModel();
-                newPhone.setPhoneNumber(phoneDto.getPhoneNumber());
-                newPhone.setCodCity(phoneDto.getCodCity());
-                newPhone.setCodCountry(phoneDto.getCodCountry());
-                newPhone.setUser(model);
-                model.getPhoneList().add(newPhone);
             }
         }
+        if (!removed.isEmpty()) {
+            model.getPhoneList().removeIf(removed::contains);
+        }
+
+        for (PhoneDTO phoneDto : incoming.values()) {
+            PhoneModel newPhone = new PhoneModel();
+            newPhone.setPhoneNumber(phoneDto.getPhoneNumber());
+            newPhone.setCodCity(phoneDto.getCodCity());
+            newPhone.setCodCountry(phoneDto.getCodCountry());
+            newPhone.setUser(model);
+            model.getPhoneList().add(newPhone);
+        }
     }
 
 }
@@ -0,0 +1,118 @@
+package cl.exercise.users.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Tokens JWT verificados recientemente, indexados por el SHA-256 del token completo: un acierto evita
+ * la verificación HMAC y la consulta del usuario. Cada entrada vence con el {@code exp} del token o con
+ * el TTL, lo que ocurra primero. Al desactivar un usuario o reemplazar su token se registra la
+ * invalidación y las entradas verificadas antes de ella se tratan como fallo.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<ByteBuffer, VerifiedToken> tokens;
+    private final Cache<UUID, Long> invalidatedAt;
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(VerifiedTokenCache::sha256);
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${app.security.jwt.cache.max-size:10000}") long maxSize,
+                              @Value("${app.security.jwt.cache.ttl:5m}") Duration ttl) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl))
+                .recordStats()
+                .build();
+        // Basta con recordar la invalidación mientras pueda quedar una entrada anterior a ella.
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.verified");
+    }
+
+    /**
+     * Devuelve el token verificado desde la caché o, si no está, lo verifica con {@code verifier}
+     * ({@code null} si no es válido; los tokens inválidos no se guardan).
+     */
+    public VerifiedToken resolve(String token, Function<String, VerifiedToken> verifier) {
+        ByteBuffer key = ByteBuffer.wrap(digests.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        VerifiedToken cached = tokens.getIfPresent(key);
+        if (cached != null && !isInvalidated(cached)) {
+            return cached;
+        }
+        // Se toma antes de consultar: una invalidación concurrente deja la entrada ya vencida.
+        long verifiedAt = System.nanoTime();
+        VerifiedToken verified = verifier.apply(token);
+        if (verified == null) {
+            tokens.invalidate(key);
+            return null;
+        }
+        VerifiedToken entry = verified.withVerifiedAt(verifiedAt);
+        tokens.put(key, entry);
+        return entry;
+    }
+
+    public void evictUser(UUID userId) {
+        Utils.afterCommit(() -> invalidatedAt.put(userId, System.nanoTime()));
+    }
+
+    private boolean isInvalidated(VerifiedToken token) {
+        Long at = invalidatedAt.getIfPresent(token.userId());
+        return at != null && token.verifiedAt() - at <= 0;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record VerifiedToken(UUID userId, String email, Instant expiresAt, long verifiedAt) {
+
+        public VerifiedToken(UUID userId, String email, Instant expiresAt) {
+            this(userId, email, expiresAt, 0L);
+        }
+
+        private VerifiedToken withVerifiedAt(long nanos) {
+            return new VerifiedToken(userId, email, expiresAt, nanos);
+        }
+    }
+
+    private record TokenExpiry(Duration ttl) implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) return ttl.toNanos();
+            Duration untilExpiration = Duration.between(Instant.now(), value.expiresAt());
+            if (untilExpiration.isNegative()) return 0;
+            return untilExpiration.compareTo(ttl) < 0 ? untilExpiration.toNanos() : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
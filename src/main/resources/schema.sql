@@ -2,7 +2,8 @@
 CREATE TABLE USERS (
     id UUID PRIMARY KEY,
     name VARCHAR(255),
-    email VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL,
+    email_key VARCHAR(255) NOT NULL UNIQUE,
     passwd VARCHAR(255) NOT NULL,
     creation_date TIMESTAMP,
     update_date TIMESTAMP,
@@ -11,9 +12,14 @@ CREATE TABLE USERS (
     token VARCHAR(5000)
 );
 
+CREATE INDEX idx_users_creation_date_id ON USERS (creation_date, id);
+CREATE INDEX idx_users_active_creation_date ON USERS (is_active, creation_date, id);
+
 -- Tabla PHONE_LIST
+CREATE SEQUENCE PHONE_LIST_SEQ START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE PHONE_LIST (
-    id SERIAL PRIMARY KEY,
+    id INT PRIMARY KEY,
     phone_number VARCHAR(255),
     cod_city VARCHAR(255),
     cod_country VARCHAR(255),
@@ -29,3 +35,5 @@ CREATE TABLE USER_LOG (
     creation_date TIMESTAMP,
     CONSTRAINT fk_usuario FOREIGN KEY (usuario_id) REFERENCES USERS(id) ON DELETE CASCADE
 );
+
+CREATE INDEX idx_user_log_creation_date ON USER_LOG (creation_date, id);
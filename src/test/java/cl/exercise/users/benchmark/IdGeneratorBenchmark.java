@@ -0,0 +1,130 @@
+package cl.exercise.users.benchmark;
+
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.RandomIdGenerator;
+import cl.exercise.users.util.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compara el throughput de inserción en una tabla con la forma de USER_LOG usando UUID v4 (aleatorio)
+ * y UUID v7 (ordenado por tiempo) como clave primaria. Al terminar cada trial informa el espacio
+ * ocupado por la tabla y su índice en H2, tanto para las filas del benchmark como para una tabla
+ * aparte con el mismo número de filas en ambos casos.
+ *
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) cl.exercise.users.benchmark.IdGeneratorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    // El espacio se compara con el mismo número de filas para ambos generadores.
+    private static final int FIXED_ROWS = 1_000_000;
+
+    @Param({"random", "uuidv7"})
+    public String generator;
+
+    private IdGenerator idGenerator;
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException, IOException {
+        idGenerator = "random".equals(generator) ? new RandomIdGenerator() : new TimeOrderedIdGenerator();
+        directory = Files.createTempDirectory("id-bench-");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("bench"), "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement st = connection.createStatement()) {
+            createTable(st, "USER_LOG");
+            createTable(st, "USER_LOG_FIXED");
+        }
+        insert = prepareInsert("USER_LOG");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        insertBatch(insert);
+        rows += BATCH_SIZE;
+    }
+
+    private void insertBatch(PreparedStatement insert) throws SQLException {
+        UUID userId = idGenerator.nextId();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, idGenerator.nextId());
+            insert.setObject(2, userId);
+            insert.setString(3, "Usuario actualizado");
+            insert.setTimestamp(4, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private static void createTable(Statement st, String table) throws SQLException {
+        st.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, usuario_id UUID NOT NULL, " +
+                "action VARCHAR(255), creation_date TIMESTAMP)");
+    }
+
+    private PreparedStatement prepareInsert(String table) throws SQLException {
+        return connection.prepareStatement(
+                "INSERT INTO " + table + " (id, usuario_id, action, creation_date) VALUES (?, ?, ?, ?)");
+    }
+
+    private void printSpace(String table, long tableRows) throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT DISK_SPACE_USED('" + table + "')")) {
+            rs.next();
+            long bytes = rs.getLong(1);
+            System.out.printf("%n[%s] %s filas: %d, espacio tabla+índice: %d KB (%.1f bytes/fila)%n",
+                    generator, table, tableRows, bytes / 1024, tableRows == 0 ? 0.0 : (double) bytes / tableRows);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void report() throws SQLException, IOException {
+        printSpace("USER_LOG", rows);
+        try (PreparedStatement fixed = prepareInsert("USER_LOG_FIXED")) {
+            for (int i = 0; i < FIXED_ROWS; i += BATCH_SIZE) {
+                insertBatch(fixed);
+            }
+        }
+        printSpace("USER_LOG_FIXED", FIXED_ROWS);
+        insert.close();
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(IdGeneratorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,108 @@
+package cl.exercise.users.benchmark;
+
+import cl.exercise.users.model.UserModel;
+import cl.exercise.users.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.security.Key;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la latencia y las asignaciones por token del builder de jjwt (la implementación anterior de
+ * {@link JwtUtil}) con la firma actual. Se ejecuta con el profiler de GC: {@code gc.alloc.rate.norm}
+ * indica los bytes asignados por token. Antes de medir se verifica que ambos tokens tengan la misma
+ * cabecera, los mismos claims y firmas válidas con la misma clave.
+ *
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) cl.exercise.users.benchmark.JwtSigningBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    private static final int EXPIRATION_MONTHS = 6;
+
+    private Key key;
+    private JwtUtil jwtUtil;
+    private UserModel user;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        jwtUtil = new JwtUtil(key);
+        Field months = JwtUtil.class.getDeclaredField("expirationMonths");
+        months.setAccessible(true);
+        months.set(jwtUtil, EXPIRATION_MONTHS);
+
+        user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setEmail("juan.perez@example.com");
+        user.setName("Juan Pérez");
+
+        verify(jjwtBuilder(), jwtUtilSigner());
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        Instant now = Instant.now();
+        Date issuedAt = Date.from(now);
+        LocalDateTime expirationDateTime = LocalDateTime.now().plusMonths(EXPIRATION_MONTHS);
+        Date expiration = Date.from(expirationDateTime.atZone(ZoneId.systemDefault()).toInstant());
+
+        return Jwts.builder()
+                .setSubject(user.getId().toString())
+                .claim("email", user.getEmail())
+                .claim("name", user.getName())
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiration)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String jwtUtilSigner() {
+        return jwtUtil.generateToken(user);
+    }
+
+    private void verify(String expected, String actual) {
+        String expectedHeader = expected.substring(0, expected.indexOf('.'));
+        String actualHeader = actual.substring(0, actual.indexOf('.'));
+        var expectedClaims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(expected).getBody();
+        var actualClaims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(actual).getBody();
+        if (!expectedHeader.equals(actualHeader)
+                || !expectedClaims.keySet().equals(actualClaims.keySet())
+                || !expectedClaims.getSubject().equals(actualClaims.getSubject())
+                || !expectedClaims.get("email").equals(actualClaims.get("email"))
+                || !expectedClaims.get("name").equals(actualClaims.get("name"))) {
+            throw new IllegalStateException("Los tokens no coinciden:\n" + expected + "\n" + actual);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtSigningBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
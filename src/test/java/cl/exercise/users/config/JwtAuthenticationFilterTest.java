@@ -0,0 +1,120 @@
+package cl.exercise.users.config;
+
+import cl.exercise.users.model.UserModel;
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.repository.UserTokenView;
+import cl.exercise.users.util.JwtUtil;
+import cl.exercise.users.util.VerifiedTokenCache;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JwtAuthenticationFilterTest {
+
+    private Key key;
+    private UserManagementRepository userManagementRepository;
+    private JwtAuthenticationFilter filter;
+    private UserModel user;
+    private String token;
+
+    @BeforeEach
+    public void setup() {
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        JwtUtil jwtUtil = new JwtUtil(key);
+        ReflectionTestUtils.setField(jwtUtil, "expirationMonths", 6);
+        userManagementRepository = Mockito.mock(UserManagementRepository.class);
+        filter = new JwtAuthenticationFilter(key,
+                new VerifiedTokenCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)),
+                userManagementRepository);
+
+        user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setEmail("juan@example.com");
+        user.setName("Juan");
+        token = jwtUtil.generateToken(user);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testValidToken_authenticatesAndLoadsUserOnce() throws Exception {
+        when(userManagementRepository.findTokenById(user.getId())).thenReturn(Optional.of(view(true, token)));
+
+        assertEquals(user.getId(), authenticate("Bearer " + token).getPrincipal());
+        SecurityContextHolder.clearContext();
+        assertEquals(user.getId(), authenticate("Bearer " + token).getPrincipal());
+
+        verify(userManagementRepository, times(1)).findTokenById(user.getId());
+    }
+
+    @Test
+    public void testReplacedToken_isRejected() throws Exception {
+        when(userManagementRepository.findTokenById(user.getId())).thenReturn(Optional.of(view(true, "otro")));
+
+        assertNull(authenticate("Bearer " + token));
+    }
+
+    @Test
+    public void testInactiveUser_isRejected() throws Exception {
+        when(userManagementRepository.findTokenById(user.getId())).thenReturn(Optional.of(view(false, token)));
+
+        assertNull(authenticate("Bearer " + token));
+    }
+
+    @Test
+    public void testTamperedToken_isRejectedWithoutLoadingUser() throws Exception {
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(authenticate("Bearer " + tampered));
+        assertNull(authenticate("Basic abc"));
+
+        verify(userManagementRepository, never()).findTokenById(any());
+    }
+
+    private Authentication authenticate(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static UserTokenView view(boolean active, String token) {
+        return new UserTokenView() {
+            @Override
+            public Boolean getIsActive() {
+                return active;
+            }
+
+            @Override
+            public String getToken() {
+                return token;
+            }
+        };
+    }
+}
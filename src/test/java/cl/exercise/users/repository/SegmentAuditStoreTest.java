@@ -0,0 +1,102 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.log.UserLogDTO;
+import cl.exercise.users.dto.log.UserLogEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentAuditStoreTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testAppend_rollsSegmentsAndPagesByUser() throws Exception {
+        SegmentAuditStore store = open();
+        UUID userA = UUID.randomUUID();
+        UUID userB = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            store.append(event(i % 2 == 0 ? userA : userB, "ACCION_" + i));
+        }
+
+        assertEquals(10, store.count(null));
+        assertEquals(5, store.count(userA));
+        List<UserLogDTO> page = store.read(userA, 2, 2);
+        assertEquals(List.of("ACCION_4", "ACCION_6"), page.stream().map(UserLogDTO::getAction).toList());
+        assertEquals(userA.toString(), page.get(0).getIdUser());
+        assertTrue(segmentFiles().size() > 1);
+        assertTrue(store.read(userB, 10, 5).isEmpty());
+    }
+
+    @Test
+    public void testOpen_rebuildsIndexFromExistingSegments() {
+        UUID userId = UUID.randomUUID();
+        UserLogEvent first = event(userId, "CREATED");
+        SegmentAuditStore store = open();
+        store.append(first);
+        store.append(event(UUID.randomUUID(), "CREATED"));
+        store.append(event(userId, "UPDATED"));
+        store.close();
+
+        SegmentAuditStore reopened = open();
+
+        assertEquals(3, reopened.count(null));
+        List<UserLogDTO> logs = reopened.read(userId, 0, 10);
+        assertEquals(2, logs.size());
+        assertEquals(first.id(), logs.get(0).getId());
+        assertEquals(first.creationDate(), logs.get(0).getCreationDate());
+        reopened.append(event(userId, "DEACTIVATED"));
+        assertEquals("DEACTIVATED", reopened.read(userId, 2, 1).get(0).getAction());
+    }
+
+    @Test
+    public void testOpen_ignoresTornRecordAtTail() throws Exception {
+        UUID userId = UUID.randomUUID();
+        SegmentAuditStore store = open();
+        store.append(event(userId, "CREATED"));
+        store.append(event(userId, "UPDATED"));
+        store.close();
+
+        // Corrompe el último byte de la acción del segundo registro.
+        int second = 4 + 50 + "CREATED".length();
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(second + 4 + 46 + "UPDATED".length() - 1);
+            file.write('X');
+        }
+
+        SegmentAuditStore reopened = open();
+
+        assertEquals(1, reopened.count(userId));
+        reopened.append(event(userId, "REACTIVATED"));
+        assertEquals("REACTIVATED", open().read(userId, 1, 1).get(0).getAction());
+    }
+
+    private SegmentAuditStore open() {
+        SegmentAuditStore store = new SegmentAuditStore(dir.toString(), SEGMENT_SIZE, false);
+        store.open();
+        return store;
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static UserLogEvent event(UUID userId, String action) {
+        return new UserLogEvent(UUID.randomUUID(), userId, action, LocalDateTime.now());
+    }
+}
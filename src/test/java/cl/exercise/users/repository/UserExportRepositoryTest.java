@@ -0,0 +1,83 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.user.UserResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserExportRepositoryTest {
+
+    private static final String USER_2 = "22222222-0000-0000-0000-000000000002";
+    private static final String USER_3 = "33333333-0000-0000-0000-000000000003";
+
+    private EmbeddedDatabase database;
+    private UserExportRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScripts("schema.sql", "data.sql")
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.update("INSERT INTO USERS (id, name, email, email_key, passwd, creation_date, is_active) "
+                + "VALUES ('" + USER_2 + "', 'Ana', 'ana@test.cl', 'ana@test.cl', 'x', CURRENT_TIMESTAMP, TRUE)");
+        jdbcTemplate.update("INSERT INTO USERS (id, name, email, email_key, passwd, creation_date, is_active) "
+                + "VALUES ('" + USER_3 + "', 'Luis', 'luis@test.cl', 'luis@test.cl', 'x', CURRENT_TIMESTAMP, FALSE)");
+        for (String number : List.of("1111111", "2222222")) {
+            jdbcTemplate.update("INSERT INTO PHONE_LIST (id, phone_number, cod_city, cod_country, user_id) "
+                    + "VALUES (NEXT VALUE FOR PHONE_LIST_SEQ, ?, '2', '56', '" + USER_2 + "')", number);
+        }
+        repository = new UserExportRepository(database, new DataSourceTransactionManager(database), 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    public void testStreamUsers_groupsPhonesPerUser() {
+        List<UserResponseDTO> users = new ArrayList<>();
+        repository.streamUsers(null, true, users::add);
+
+        assertEquals(3, users.size());
+        UserResponseDTO ana = users.stream().filter(u -> u.getId().toString().equals(USER_2)).findFirst().orElseThrow();
+        assertEquals(2, ana.getPhoneList().size());
+        UserResponseDTO luis = users.stream().filter(u -> u.getId().toString().equals(USER_3)).findFirst().orElseThrow();
+        assertTrue(luis.getPhoneList().isEmpty());
+        assertEquals("null", luis.getModified());
+    }
+
+    @Test
+    public void testStreamUsers_filtersByStatusWithoutPhones() {
+        List<UserResponseDTO> users = new ArrayList<>();
+        repository.streamUsers(false, false, users::add);
+
+        assertEquals(1, users.size());
+        assertEquals("Luis", users.get(0).getName());
+        assertTrue(users.get(0).getPhoneList().isEmpty());
+    }
+
+    @Test
+    public void testStreamUsers_runsInReadOnlyTransaction() {
+        List<Boolean> readOnly = new ArrayList<>();
+        repository.streamUsers(null, false,
+                user -> readOnly.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly()));
+
+        assertEquals(List.of(true, true, true), readOnly);
+    }
+}
@@ -0,0 +1,77 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.log.UserLogDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserLogArchiveRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private UserLogArchiveRepository archive;
+
+    @BeforeEach
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        archive = new UserLogArchiveRepository(dir.toString(), objectMapper);
+    }
+
+    @Test
+    public void testAppend_addsGzipMembersAndReadsThemBack() {
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        UUID userA = UUID.randomUUID();
+        UUID userB = UUID.randomUUID();
+        UserLogDTO first = log(userA, day.atTime(9, 0));
+        archive.append(day, List.of(first, log(userB, day.atTime(10, 0))));
+        archive.append(day, List.of(log(userA, day.atTime(11, 0))));
+
+        List<UserLogDTO> all = archive.read(day, day, null, 0, 10);
+        List<UserLogDTO> byUser = archive.read(day, day, userA, 0, 10);
+
+        assertEquals(3, all.size());
+        assertEquals(first, all.get(0));
+        assertEquals(2, byUser.size());
+    }
+
+    @Test
+    public void testRead_skipsDaysWithoutArchive() {
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        archive.append(day, List.of(log(UUID.randomUUID(), day.atStartOfDay())));
+
+        assertEquals(1, archive.read(day.minusDays(5), day.plusDays(5), null, 0, 10).size());
+        assertTrue(archive.read(day.plusDays(1), day.plusDays(2), null, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void testRead_pagesAcrossDaysWithOffsetAndLimit() {
+        LocalDate day = LocalDate.of(2024, 3, 10);
+        UUID userId = UUID.randomUUID();
+        UserLogDTO second = log(userId, day.atTime(10, 0));
+        UserLogDTO third = log(userId, day.plusDays(1).atTime(9, 0));
+        archive.append(day, List.of(log(userId, day.atTime(9, 0)), second));
+        archive.append(day.plusDays(1), List.of(third, log(userId, day.plusDays(1).atTime(10, 0))));
+
+        assertEquals(List.of(second, third), archive.read(day, day.plusDays(1), userId, 1, 2));
+        assertEquals(1, archive.read(day, day.plusDays(1), null, 3, 10).size());
+    }
+
+    private static UserLogDTO log(UUID userId, LocalDateTime date) {
+        return new UserLogDTO(UUID.randomUUID(), userId, "Usuario actualizado", date);
+    }
+}
@@ -0,0 +1,117 @@
+package cl.exercise.users.repository;
+
+import cl.exercise.users.dto.user.UserRequestDTO;
+import cl.exercise.users.exception.EmailExistException;
+import cl.exercise.users.mapper.MapperHelper;
+import cl.exercise.users.model.UserModel;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.service.PasswordHashingService;
+import cl.exercise.users.service.impl.UserManagementServiceImpl;
+import cl.exercise.users.util.EmailBloomFilter;
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.JwtUtil;
+import cl.exercise.users.util.RecordCounters;
+import cl.exercise.users.util.UserCache;
+import cl.exercise.users.util.UserWriteExecutor;
+import cl.exercise.users.util.VerifiedTokenCache;
+import cl.exercise.users.validator.ValidationHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+public class UserManagementRepositoryTest {
+
+    @Autowired
+    private UserManagementRepository userManagementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserManagementServiceImpl service;
+    private UserModel ana;
+
+    @BeforeEach
+    public void setup() {
+        EmailBloomFilter emailBloomFilter = Mockito.mock(EmailBloomFilter.class);
+        when(emailBloomFilter.mightContain(any())).thenReturn(true);
+        // Se ejecuta en el mismo hilo para participar de la transacción del test.
+        UserWriteExecutor userWriteExecutor = Mockito.mock(UserWriteExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(userWriteExecutor).execute(any());
+        service = new UserManagementServiceImpl(userManagementRepository, Mockito.mock(AuditLogWriter.class),
+                new MapperHelper(), Mockito.mock(ValidationHandler.class), Mockito.mock(JwtUtil.class),
+                Mockito.mock(PasswordHashingService.class), new TransactionTemplate(transactionManager),
+                Mockito.mock(RecordCounters.class), Mockito.mock(IdGenerator.class), Mockito.mock(UserCache.class),
+                emailBloomFilter, Mockito.mock(VerifiedTokenCache.class), new ObjectMapper(),
+                userWriteExecutor);
+
+        ana = save("Ana", "ana@test.cl");
+        save("Luis", "luis@test.cl");
+        userManagementRepository.flush();
+    }
+
+    @Test
+    public void testExistsByEmailKeyAndIdNot_ignoresOwnRow() {
+        assertFalse(userManagementRepository.existsByEmailKeyAndIdNot("ana@test.cl", ana.getId()));
+        assertTrue(userManagementRepository.existsByEmailKeyAndIdNot("luis@test.cl", ana.getId()));
+    }
+
+    @Test
+    public void testUpdateUser_changesEmail() {
+        service.updateUser(ana.getId(), request("Ana.Nueva@test.cl")).join();
+        userManagementRepository.flush();
+
+        assertEquals(ana.getId(), userManagementRepository.findByEmailKey("ana.nueva@test.cl").orElseThrow().getId());
+        assertFalse(userManagementRepository.existsByEmailKey("ana@test.cl"));
+    }
+
+    @Test
+    public void testUpdateUser_emailOfAnotherUser_throwsEmailExistException() {
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> service.updateUser(ana.getId(), request("LUIS@test.cl")).join());
+
+        assertInstanceOf(EmailExistException.class, ex.getCause());
+
+        assertEquals("ana@test.cl", ana.getEmail());
+    }
+
+    private UserModel save(String name, String email) {
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setName(name);
+        user.setEmail(email);
+        user.setPasswd("x");
+        user.setCreationDate(LocalDateTime.now());
+        user.setIsActive(true);
+        user.setPhoneList(new ArrayList<>());
+        return userManagementRepository.save(user);
+    }
+
+    private static UserRequestDTO request(String email) {
+        UserRequestDTO request = new UserRequestDTO();
+        request.setEmail(email);
+        return request;
+    }
+}
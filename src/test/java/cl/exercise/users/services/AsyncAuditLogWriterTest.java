@@ -0,0 +1,140 @@
+package cl.exercise.users.services;
+
+import cl.exercise.users.dto.log.UserLogEvent;
+import cl.exercise.users.repository.UserLogBatchRepository;
+import cl.exercise.users.service.impl.AsyncAuditLogWriter;
+import cl.exercise.users.service.impl.AsyncAuditLogWriter.OverflowPolicy;
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.RandomIdGenerator;
+import cl.exercise.users.util.RecordCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class AsyncAuditLogWriterTest {
+
+    private UserLogBatchRepository userLogBatchRepository;
+    private RecordCounters recordCounters;
+    private IdGenerator idGenerator;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        userLogBatchRepository = Mockito.mock(UserLogBatchRepository.class);
+        recordCounters = Mockito.mock(RecordCounters.class);
+        idGenerator = new RandomIdGenerator();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testAppend_flushesInBatchesAndDrainsOnShutdown() throws InterruptedException {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(0).size());
+            return null;
+        }).when(userLogBatchRepository).insertAll(anyList());
+
+        AsyncAuditLogWriter writer = newWriter(100, 2, OverflowPolicy.BLOCK);
+        writer.start();
+        UUID userId = UUID.randomUUID();
+        writer.append(userId, "CREATED");
+        writer.append(userId, "UPDATED");
+        writer.append(userId, "DEACTIVATED");
+        writer.shutdown();
+
+        assertEquals(3, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 2));
+        verify(recordCounters, times(3)).logInserted(userId);
+        assertEquals(3.0, meterRegistry.get("audit.events.written").counter().count());
+    }
+
+    @Test
+    public void testAppend_dropPolicyDiscardsWhenQueueIsFull() {
+        AsyncAuditLogWriter writer = newWriter(1, 10, OverflowPolicy.DROP);
+        UUID userId = UUID.randomUUID();
+        writer.append(userId, "CREATED");
+        writer.append(userId, "UPDATED");
+
+        assertEquals(1.0, meterRegistry.get("audit.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("audit.events.dropped").counter().count());
+        verifyNoInteractions(userLogBatchRepository);
+    }
+
+    @Test
+    public void testAppend_callerRunsWritesOverflowDirectly() {
+        AsyncAuditLogWriter writer = newWriter(1, 10, OverflowPolicy.CALLER_RUNS);
+        UUID userId = UUID.randomUUID();
+        writer.append(userId, "CREATED");
+        writer.append(userId, "UPDATED");
+
+        verify(userLogBatchRepository, times(1)).insertAll(anyList());
+        verify(recordCounters, times(1)).logInserted(userId);
+        assertEquals(0.0, meterRegistry.get("audit.events.dropped").counter().count());
+    }
+
+    @Test
+    public void testFlush_batchFailureFallsBackToPerRowInserts() throws InterruptedException {
+        UUID okUser = UUID.randomUUID();
+        UUID badUser = UUID.randomUUID();
+        doAnswer(invocation -> {
+            List<UserLogEvent> events = invocation.getArgument(0);
+            if (events.size() > 1 || events.get(0).userId().equals(badUser)) {
+                throw new DataIntegrityViolationException("fallo");
+            }
+            return null;
+        }).when(userLogBatchRepository).insertAll(anyList());
+
+        AsyncAuditLogWriter writer = newWriter(10, 10, OverflowPolicy.BLOCK);
+        writer.append(okUser, "CREATED");
+        writer.append(badUser, "CREATED");
+        writer.start();
+        writer.shutdown();
+
+        verify(userLogBatchRepository, times(3)).insertAll(anyList());
+        verify(recordCounters).logInserted(okUser);
+        verify(recordCounters, never()).logInserted(badUser);
+        assertEquals(1.0, meterRegistry.get("audit.events.written").counter().count());
+        assertEquals(1.0, meterRegistry.get("audit.events.failed").counter().count());
+    }
+
+    @Test
+    public void testFlush_duplicateRowAfterPartialBatchCountsAsWritten() throws InterruptedException {
+        UUID userId = UUID.randomUUID();
+        doThrow(new DataIntegrityViolationException("fallo"))
+                .doThrow(new DuplicateKeyException("ya existe"))
+                .doNothing()
+                .when(userLogBatchRepository).insertAll(anyList());
+
+        AsyncAuditLogWriter writer = newWriter(10, 10, OverflowPolicy.BLOCK);
+        writer.append(userId, "CREATED");
+        writer.append(userId, "UPDATED");
+        writer.start();
+        writer.shutdown();
+
+        verify(recordCounters, times(2)).logInserted(userId);
+        assertEquals(2.0, meterRegistry.get("audit.events.written").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.events.failed").counter().count());
+    }
+
+    private AsyncAuditLogWriter newWriter(int capacity, int batchSize, OverflowPolicy policy) {
+        return new AsyncAuditLogWriter(userLogBatchRepository, idGenerator, recordCounters, meterRegistry,
+                capacity, batchSize, 20, policy, 10, true);
+    }
+}
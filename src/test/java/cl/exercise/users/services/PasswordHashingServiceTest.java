@@ -0,0 +1,74 @@
+package cl.exercise.users.services;
+
+import cl.exercise.users.exception.ServiceUnavailableException;
+import cl.exercise.users.service.impl.PasswordHashingServiceImpl;
+import cl.exercise.users.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordEncoder passwordEncoder;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingServiceImpl service;
+
+    @BeforeEach
+    public void setup() {
+        passwordEncoder = Mockito.mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void testEncode_runsOnHashingPool() {
+        service = new PasswordHashingServiceImpl(passwordEncoder, meterRegistry, 1, 1);
+        when(passwordEncoder.encode("Clave123")).thenAnswer(i -> Thread.currentThread().getName());
+
+        String hash = service.encode("Clave123").join();
+
+        assertTrue(hash.startsWith("password-hashing-"), hash);
+    }
+
+    @Test
+    public void testEncode_queueFull_rejectsWithServiceUnavailable() throws Exception {
+        service = new PasswordHashingServiceImpl(passwordEncoder, meterRegistry, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(i -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+
+        CompletableFuture<String> running = service.encode("uno");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = service.encode("dos");
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> service.encode("tres"));
+
+        assertEquals(Constants.SERVICE_BUSY, ex.getMessage());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("password.hashing.queue.depth").gauge().value());
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+}
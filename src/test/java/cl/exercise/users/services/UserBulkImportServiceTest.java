@@ -0,0 +1,228 @@
+package cl.exercise.users.services;
+
+import cl.exercise.users.exception.ServiceUnavailableException;
+import cl.exercise.users.mapper.MapperHelper;
+import cl.exercise.users.model.UserModel;
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.service.PasswordHashingService;
+import cl.exercise.users.service.impl.UserBulkImportServiceImpl;
+import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.EmailBloomFilter;
+import cl.exercise.users.util.IdGenerator;
+import cl.exercise.users.util.JwtUtil;
+import cl.exercise.users.util.RandomIdGenerator;
+import cl.exercise.users.util.RecordCounters;
+import cl.exercise.users.validator.ValidationHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UserBulkImportServiceTest {
+
+    private UserManagementRepository userManagementRepository;
+    private AuditLogWriter auditLogWriter;
+    private RecordCounters recordCounters;
+    private EmailBloomFilter emailBloomFilter;
+    private PasswordHashingService passwordHashingService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserBulkImportServiceImpl service;
+
+    @BeforeEach
+    public void setup() {
+        userManagementRepository = Mockito.mock(UserManagementRepository.class);
+        auditLogWriter = Mockito.mock(AuditLogWriter.class);
+        recordCounters = Mockito.mock(RecordCounters.class);
+        emailBloomFilter = Mockito.mock(EmailBloomFilter.class);
+        when(emailBloomFilter.mightContain(any())).thenReturn(true);
+        passwordHashingService = Mockito.mock(PasswordHashingService.class);
+        when(passwordHashingService.encode(any())).thenReturn(CompletableFuture.completedFuture("hash"));
+        service = newService(500);
+    }
+
+    @Test
+    public void testImportUsers_reportsEachLineAndInsertsValidRowsOnce() throws IOException {
+        when(userManagementRepository.findExistingEmailKeys(anyCollection())).thenReturn(List.of("b@test.cl"));
+
+        List<JsonNode> report = importLines(
+                user("a@test.cl"),
+                "{no es json",
+                user("A@Test.cl"),
+                user("b@test.cl"),
+                "",
+                "{\"name\":\"Sin clave\",\"email\":\"c@test.cl\",\"phones\":[{\"number\":\"1234567\",\"citycode\":\"1\",\"countrycode\":\"56\"}]}");
+
+        assertEquals(5, report.size());
+        assertEquals("creado", report.get(0).get("status").asText());
+        assertEquals(Constants.INVALID_JSON_LINE, report.get(1).get("mensaje").asText());
+        assertEquals(Constants.EMAIL_REGISTERED, report.get(2).get("mensaje").asText());
+        assertEquals(Constants.EMAIL_REGISTERED, report.get(3).get("mensaje").asText());
+        assertEquals(6, report.get(4).get("line").asLong());
+        assertEquals("La contraseña es obligatoria", report.get(4).get("mensaje").asText());
+        verify(userManagementRepository).saveAll(ArgumentMatchers.<List<UserModel>>argThat(models -> models.size() == 1));
+        verify(userManagementRepository).findExistingEmailKeys(anyCollection());
+        verify(passwordHashingService, times(1)).encode(any());
+        verify(recordCounters, times(1)).userCreated();
+        verify(auditLogWriter, times(1)).append(any(), eq(Constants.CREATED));
+    }
+
+    @Test
+    public void testImportUsers_whenChunkFails_retriesRowByRow() throws IOException {
+        doThrow(new DataIntegrityViolationException("dup")).when(userManagementRepository).flush();
+        when(userManagementRepository.saveAndFlush(any()))
+                .thenReturn(null)
+                .thenThrow(new DataIntegrityViolationException("dup"));
+        when(userManagementRepository.existsByEmailKey("b@test.cl")).thenReturn(true);
+
+        List<JsonNode> report = importLines(user("a@test.cl"), user("b@test.cl"));
+
+        assertEquals("creado", report.get(0).get("status").asText());
+        assertEquals("error", report.get(1).get("status").asText());
+        assertEquals(Constants.EMAIL_REGISTERED, report.get(1).get("mensaje").asText());
+        verify(userManagementRepository, times(2)).saveAndFlush(any());
+        verify(auditLogWriter, times(3)).append(any(), eq(Constants.CREATED));
+    }
+
+    @Test
+    public void testImportUsers_whenRowFailsOnOtherConstraint_doesNotReportEmailRegistered() throws IOException {
+        doThrow(new DataIntegrityViolationException("phone")).when(userManagementRepository).flush();
+        when(userManagementRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("phone"));
+        when(userManagementRepository.existsByEmailKey("a@test.cl")).thenReturn(false);
+
+        List<JsonNode> report = importLines(user("a@test.cl"));
+
+        assertEquals("error", report.get(0).get("status").asText());
+        assertEquals(Constants.USER_REJECTED, report.get(0).get("mensaje").asText());
+    }
+
+    @Test
+    public void testImportUsers_whenHashingQueueFull_waitsForPendingHashes() throws IOException {
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(
+                () -> "hash", CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        when(passwordHashingService.encode(any()))
+                .thenReturn(slow)
+                .thenThrow(new ServiceUnavailableException(Constants.SERVICE_BUSY))
+                .thenReturn(CompletableFuture.completedFuture("hash"));
+        when(userManagementRepository.findExistingEmailKeys(anyCollection())).thenReturn(List.of());
+
+        List<JsonNode> report = importLines(user("a@test.cl"), user("b@test.cl"));
+
+        assertEquals("creado", report.get(0).get("status").asText());
+        assertEquals("creado", report.get(1).get("status").asText());
+        verify(passwordHashingService, times(3)).encode(any());
+    }
+
+    @Test
+    public void testImportUsers_whenHashingRejectedWithoutPending_reportsServiceBusy() throws IOException {
+        when(passwordHashingService.encode(any())).thenThrow(new ServiceUnavailableException(Constants.SERVICE_BUSY));
+        when(userManagementRepository.findExistingEmailKeys(anyCollection())).thenReturn(List.of());
+
+        List<JsonNode> report = importLines(user("a@test.cl"));
+
+        assertEquals(Constants.SERVICE_BUSY, report.get(0).get("mensaje").asText());
+        verify(userManagementRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testImportUsers_whenHashFails_reportsOnlyThatRow() throws IOException {
+        when(passwordHashingService.encode(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("bcrypt")))
+                .thenThrow(new IllegalStateException("sin hilos"))
+                .thenReturn(CompletableFuture.completedFuture("hash"));
+        when(userManagementRepository.findExistingEmailKeys(anyCollection())).thenReturn(List.of());
+
+        List<JsonNode> report = importLines(user("a@test.cl"), user("b@test.cl"), user("c@test.cl"));
+
+        assertEquals(Constants.INTERNAL_SERVER, report.get(0).get("mensaje").asText());
+        assertEquals(Constants.INTERNAL_SERVER, report.get(1).get("mensaje").asText());
+        assertEquals("creado", report.get(2).get("status").asText());
+        verify(userManagementRepository).saveAll(ArgumentMatchers.<List<UserModel>>argThat(models -> models.size() == 1));
+    }
+
+    @Test
+    public void testImportUsers_processesInChunks() throws IOException {
+        service = newService(2);
+        when(userManagementRepository.findExistingEmailKeys(anyCollection())).thenReturn(List.of());
+
+        List<JsonNode> report = importLines(
+                user("a@test.cl"), user("b@test.cl"), user("c@test.cl"), user("d@test.cl"), user("e@test.cl"));
+
+        assertEquals(5, report.size());
+        verify(userManagementRepository, times(3)).findExistingEmailKeys(anyCollection());
+        verify(userManagementRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    public void testImportUsers_whenBloomFilterRulesOutAll_skipsExistingQuery() throws IOException {
+        when(emailBloomFilter.mightContain(any())).thenReturn(false);
+
+        List<JsonNode> report = importLines(user("a@test.cl"), user("b@test.cl"));
+
+        assertEquals("creado", report.get(0).get("status").asText());
+        assertEquals("creado", report.get(1).get("status").asText());
+        verify(userManagementRepository, never()).findExistingEmailKeys(anyCollection());
+        verify(emailBloomFilter, times(2)).add(any());
+    }
+
+    @Test
+    public void testImportUsers_queriesOnlyMaybeRegisteredEmails() throws IOException {
+        when(emailBloomFilter.mightContain("a@test.cl")).thenReturn(false);
+        when(userManagementRepository.findExistingEmailKeys(anyCollection())).thenReturn(List.of());
+
+        importLines(user("a@test.cl"), user("b@test.cl"));
+
+        verify(userManagementRepository).findExistingEmailKeys(
+                argThat(keys -> keys.size() == 1 && keys.contains("b@test.cl")));
+        verify(emailBloomFilter).recordFalsePositive();
+    }
+
+    private UserBulkImportServiceImpl newService(int chunkSize) {
+        IdGenerator idGenerator = new RandomIdGenerator();
+        return new UserBulkImportServiceImpl(userManagementRepository, auditLogWriter,
+                new MapperHelper(), Mockito.mock(ValidationHandler.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), Mockito.mock(JwtUtil.class),
+                passwordHashingService, recordCounters, emailBloomFilter, idGenerator, objectMapper,
+                Mockito.mock(EntityManager.class), new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                chunkSize, 4);
+    }
+
+    private List<JsonNode> importLines(String... lines) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.importUsers(new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)), output);
+        List<JsonNode> report = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            report.add(objectMapper.readTree(line));
+        }
+        return report;
+    }
+
+    private static String user(String email) {
+        return "{\"name\":\"Usuario\",\"email\":\"" + email + "\",\"password\":\"Contrasena1!\","
+                + "\"phones\":[{\"number\":\"1234567\",\"citycode\":\"1\",\"countrycode\":\"56\"}]}";
+    }
+}
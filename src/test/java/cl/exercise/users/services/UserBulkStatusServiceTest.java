@@ -0,0 +1,109 @@
+package cl.exercise.users.services;
+
+import cl.exercise.users.dto.user.BulkStatusResultDTO;
+import cl.exercise.users.exception.ValidationException;
+import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.repository.UserStatusView;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.service.impl.UserBulkStatusServiceImpl;
+import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.RecordCounters;
+import cl.exercise.users.util.UserCache;
+import cl.exercise.users.util.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UserBulkStatusServiceTest {
+
+    private UserManagementRepository userManagementRepository;
+    private AuditLogWriter auditLogWriter;
+    private RecordCounters recordCounters;
+    private UserCache userCache;
+    private VerifiedTokenCache verifiedTokenCache;
+    private UserBulkStatusServiceImpl service;
+
+    @BeforeEach
+    public void setup() {
+        userManagementRepository = Mockito.mock(UserManagementRepository.class);
+        auditLogWriter = Mockito.mock(AuditLogWriter.class);
+        recordCounters = Mockito.mock(RecordCounters.class);
+        userCache = Mockito.mock(UserCache.class);
+        verifiedTokenCache = Mockito.mock(VerifiedTokenCache.class);
+        service = new UserBulkStatusServiceImpl(userManagementRepository, auditLogWriter, recordCounters,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), userCache, verifiedTokenCache, 2, 5);
+    }
+
+    @Test
+    public void testDeactivateUsers_reportsOutcomePerId() {
+        UUID active = UUID.randomUUID();
+        UUID inactive = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(userManagementRepository.findStatusByIdIn(List.of(active, inactive)))
+                .thenReturn(List.of(view(active, true), view(inactive, false)));
+        when(userManagementRepository.deactivateByIdIn(eq(List.of(active)), any(LocalDateTime.class))).thenReturn(1);
+
+        List<BulkStatusResultDTO> results = service.deactivateUsers(List.of(active, inactive, missing, active));
+
+        assertEquals(List.of(
+                new BulkStatusResultDTO(active, BulkStatusResultDTO.CHANGED),
+                new BulkStatusResultDTO(inactive, BulkStatusResultDTO.UNCHANGED),
+                new BulkStatusResultDTO(missing, BulkStatusResultDTO.NOT_FOUND)), results);
+        verify(userManagementRepository, times(2)).findStatusByIdIn(anyCollection());
+        verify(recordCounters).activeUsersChanged(-1);
+        verify(auditLogWriter).append(active, Constants.DEACTIVATED);
+        verify(userCache).evict(active);
+        verify(verifiedTokenCache).evictUser(active);
+        verify(userManagementRepository, never()).activateByIdIn(anyCollection(), any());
+    }
+
+    @Test
+    public void testActivateUsers_withoutChanges_skipsUpdate() {
+        UUID active = UUID.randomUUID();
+        when(userManagementRepository.findStatusByIdIn(List.of(active))).thenReturn(List.of(view(active, true)));
+
+        List<BulkStatusResultDTO> results = service.activateUsers(List.of(active));
+
+        assertEquals(BulkStatusResultDTO.UNCHANGED, results.get(0).getStatus());
+        verify(userManagementRepository, never()).activateByIdIn(anyCollection(), any());
+        verifyNoInteractions(auditLogWriter, recordCounters);
+    }
+
+    @Test
+    public void testActivateUsers_invalidList_throwsValidationException() {
+        assertThrows(ValidationException.class, () -> service.activateUsers(List.of()));
+        assertThrows(ValidationException.class, () -> service.activateUsers(
+                List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                        UUID.randomUUID(), UUID.randomUUID())));
+        assertThrows(ValidationException.class, () -> service.activateUsers(Arrays.asList(UUID.randomUUID(), null)));
+        verifyNoInteractions(userManagementRepository);
+    }
+
+    private static UserStatusView view(UUID id, boolean isActive) {
+        return new UserStatusView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return isActive;
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package cl.exercise.users.services;
+
+import cl.exercise.users.dto.user.PhoneDTO;
+import cl.exercise.users.dto.user.UserResponseDTO;
+import cl.exercise.users.repository.UserExportRepository;
+import cl.exercise.users.service.impl.UserExportServiceImpl;
+import cl.exercise.users.util.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+public class UserExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserExportRepository userExportRepository;
+    private UserExportServiceImpl service;
+    private UserResponseDTO user;
+
+    @BeforeEach
+    public void setup() {
+        userExportRepository = Mockito.mock(UserExportRepository.class);
+        service = new UserExportServiceImpl(userExportRepository, objectMapper);
+
+        user = new UserResponseDTO();
+        user.setId(UUID.randomUUID());
+        user.setName("Pérez, Juan");
+        user.setEmail("juan@test.cl");
+        user.setPhoneList(new ArrayList<>(List.of(new PhoneDTO("1234567", "9", "56"))));
+        user.setCreated("2024-01-01T10:00");
+        user.setModified("null");
+        user.setLastLogin("2024-01-01T10:00");
+        user.setActive(true);
+        doAnswer(invocation -> {
+            Consumer<UserResponseDTO> consumer = invocation.getArgument(2);
+            consumer.accept(user);
+            return null;
+        }).when(userExportRepository).streamUsers(any(), anyBoolean(), any());
+    }
+
+    @Test
+    public void testExportUsers_ndjsonWritesOneUserPerLine() throws Exception {
+        String[] lines = export(ExportFormat.NDJSON, "activos", true);
+
+        assertEquals(1, lines.length);
+        JsonNode node = objectMapper.readTree(lines[0]);
+        assertEquals("juan@test.cl", node.get("email").asText());
+        assertEquals("1234567", node.get("phones").get(0).get("number").asText());
+        verify(userExportRepository).streamUsers(eq(true), eq(true), any());
+    }
+
+    @Test
+    public void testExportUsers_csvEscapesValuesAndJoinsPhones() throws Exception {
+        String[] lines = export(ExportFormat.CSV, null, true);
+
+        assertEquals("id,name,email,created,modified,last_login,isactive,phones", lines[0]);
+        assertEquals(user.getId() + ",\"Pérez, Juan\",juan@test.cl,2024-01-01T10:00,null,2024-01-01T10:00,true,56-9-1234567",
+                lines[1]);
+    }
+
+    @Test
+    public void testExportUsers_csvQuotesCarriageReturns() throws Exception {
+        user.setName("Juan\rPérez");
+
+        String[] lines = export(ExportFormat.CSV, null, false);
+
+        assertTrue(lines[1].contains(",\"Juan\rPérez\","));
+    }
+
+    @Test
+    public void testExportUsers_withoutPhonesOmitsThem() throws Exception {
+        String[] lines = export(ExportFormat.NDJSON, null, false);
+
+        assertTrue(objectMapper.readTree(lines[0]).get("phones").isNull());
+    }
+
+    private String[] export(ExportFormat format, String status, boolean withPhones) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.exportUsers(output, format, status, withPhones);
+        return output.toString(StandardCharsets.UTF_8).split("\n");
+    }
+}
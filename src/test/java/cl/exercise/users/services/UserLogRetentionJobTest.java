@@ -0,0 +1,80 @@
+package cl.exercise.users.services;
+
+import cl.exercise.users.dto.log.UserLogDTO;
+import cl.exercise.users.dto.log.UserLogEvent;
+import cl.exercise.users.repository.UserLogArchiveRepository;
+import cl.exercise.users.repository.UserLogBatchRepository;
+import cl.exercise.users.service.impl.UserLogRetentionJob;
+import cl.exercise.users.util.RecordCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UserLogRetentionJobTest {
+
+    private UserLogBatchRepository userLogBatchRepository;
+    private UserLogArchiveRepository userLogArchiveRepository;
+    private RecordCounters recordCounters;
+    private UserLogRetentionJob job;
+
+    @BeforeEach
+    public void setup() {
+        userLogBatchRepository = Mockito.mock(UserLogBatchRepository.class);
+        userLogArchiveRepository = Mockito.mock(UserLogArchiveRepository.class);
+        recordCounters = Mockito.mock(RecordCounters.class);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+        job = new UserLogRetentionJob(userLogBatchRepository, userLogArchiveRepository,
+                recordCounters, transactionTemplate, 90, 2);
+    }
+
+    @Test
+    public void testRun_archivesByDayThenDeletesInBatches() {
+        UUID userId = UUID.randomUUID();
+        LocalDate day1 = LocalDate.of(2024, 1, 1);
+        LocalDate day2 = LocalDate.of(2024, 1, 2);
+        List<UserLogEvent> first = List.of(event(userId, day1), event(userId, day2));
+        List<UserLogEvent> second = List.of(event(userId, day2));
+        when(userLogBatchRepository.findOlderThan(any(LocalDateTime.class), eq(2)))
+                .thenReturn(first)
+                .thenReturn(second);
+
+        job.run();
+
+        verify(userLogArchiveRepository).append(eq(day1), argThat((List<UserLogDTO> logs) -> logs.size() == 1));
+        verify(userLogArchiveRepository, times(2)).append(eq(day2), anyList());
+        verify(userLogBatchRepository).deleteAll(first);
+        verify(userLogBatchRepository).deleteAll(second);
+        verify(recordCounters).logsRemoved(Map.of(userId, 2L));
+        verify(recordCounters).logsRemoved(Map.of(userId, 1L));
+    }
+
+    @Test
+    public void testRun_withoutOldLogs_doesNothing() {
+        when(userLogBatchRepository.findOlderThan(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        job.run();
+
+        verifyNoInteractions(userLogArchiveRepository, recordCounters);
+        verify(userLogBatchRepository, never()).deleteAll(anyList());
+    }
+
+    private static UserLogEvent event(UUID userId, LocalDate day) {
+        return new UserLogEvent(UUID.randomUUID(), userId, "Usuario actualizado", day.atTime(12, 0));
+    }
+}
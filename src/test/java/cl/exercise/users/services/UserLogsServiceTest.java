@@ -1,21 +1,25 @@
 package cl.exercise.users.services;
 
 import cl.exercise.users.dto.log.UserLogDTO;
-import cl.exercise.users.mapper.MapperHelper;
-import cl.exercise.users.model.UserLogModel;
-import cl.exercise.users.model.UserModel;
+import cl.exercise.users.exception.ValidationException;
+import cl.exercise.users.repository.UserLogArchiveRepository;
 import cl.exercise.users.repository.UserLogRepository;
 import cl.exercise.users.service.impl.UserLogServiceImpl;
+import cl.exercise.users.util.RecordCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.data.domain.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class UserLogServiceImplTest {
@@ -24,12 +28,14 @@ class UserLogServiceImplTest {
     private UserLogRepository userLogRepository;
 
     @Mock
-    private MapperHelper mapperHelper;
+    private RecordCounters recordCounters;
+
+    @Mock
+    private UserLogArchiveRepository userLogArchiveRepository;
 
     @InjectMocks
     private UserLogServiceImpl userLogService;
 
-    private UserLogModel userLogModel;
     private UserLogDTO userLogDTO;
     private UUID userId;
 
@@ -38,99 +44,151 @@ class UserLogServiceImplTest {
         MockitoAnnotations.openMocks(this);
 
         userId = UUID.randomUUID();
-        UserModel userModel = new UserModel();
-        userModel.setId(userId);
-
-        userLogModel = new UserLogModel();
-        userLogModel.setId(UUID.randomUUID());
-        userLogModel.setUserModel(userModel);
-        userLogModel.setAction("UPDATE");
-        userLogModel.setCreationDate(LocalDateTime.now());
-
-        userLogDTO = new UserLogDTO();
-        userLogDTO.setIdUser(String.valueOf(userId));
-        userLogDTO.setAction("UPDATE");
-        userLogDTO.setCreationDate(userLogModel.getCreationDate());
+        userLogDTO = new UserLogDTO(UUID.randomUUID(), userId, "UPDATE", LocalDateTime.now());
     }
 
     @Test
     void testGetAllLogWithoutFilter() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<UserLogModel> page = new PageImpl<>(List.of(userLogModel));
+        Page<UserLogDTO> page = new PageImpl<>(List.of(userLogDTO));
 
-        when(userLogRepository.findAll(pageable)).thenReturn(page);
-        when(mapperHelper.mapLogToDTO(userLogModel)).thenReturn(userLogDTO);
+        when(userLogRepository.findAllLogs(pageable)).thenReturn(page);
 
         Page<UserLogDTO> result = userLogService.getAllLog(1, 10, null);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("UPDATE", result.getContent().get(0).getAction());
-        verify(userLogRepository, times(1)).findAll(pageable);
+        verify(userLogRepository, times(1)).findAllLogs(pageable);
     }
 
     @Test
     void testGetAllLogWithUserIdFilter() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<UserLogModel> page = new PageImpl<>(List.of(userLogModel));
+        Page<UserLogDTO> page = new PageImpl<>(List.of(userLogDTO));
 
-        when(userLogRepository.findByUserModel_Id(userId, pageable)).thenReturn(page);
-        when(mapperHelper.mapLogToDTO(userLogModel)).thenReturn(userLogDTO);
+        when(userLogRepository.findLogsByUserId(userId, pageable)).thenReturn(page);
 
         Page<UserLogDTO> result = userLogService.getAllLog(1, 10, userId);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(String.valueOf(userId), String.valueOf(result.getContent().get(0).getIdUser()));
-        verify(userLogRepository, times(1)).findByUserModel_Id(userId, pageable);
+        verify(userLogRepository, times(1)).findLogsByUserId(userId, pageable);
     }
 
     @Test
     void getAllLog_whenPageIsNull_shouldDefaultToPageZero() {
-        when(userLogRepository.findAll(any(Pageable.class)))
+        when(userLogRepository.findAllLogs(any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
         Page<UserLogDTO> result = userLogService.getAllLog(null, 10, null);
 
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(userLogRepository).findAll(captor.capture());
+        verify(userLogRepository).findAllLogs(captor.capture());
         assertEquals(0, captor.getValue().getPageNumber());
     }
 
     @Test
     void getAllLog_whenPageIsLessThanOne_shouldDefaultToPageZero() {
-        when(userLogRepository.findAll(any(Pageable.class)))
+        when(userLogRepository.findAllLogs(any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
         Page<UserLogDTO> result = userLogService.getAllLog(0, 10, null);
 
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(userLogRepository).findAll(captor.capture());
+        verify(userLogRepository).findAllLogs(captor.capture());
         assertEquals(0, captor.getValue().getPageNumber());
     }
 
     @Test
     void getAllLog_whenSizeIsNull_shouldDefaultToTen() {
-        when(userLogRepository.findAll(any(Pageable.class)))
+        when(userLogRepository.findAllLogs(any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
         userLogService.getAllLog(1, null,null);
 
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(userLogRepository).findAll(captor.capture());
+        verify(userLogRepository).findAllLogs(captor.capture());
         assertEquals(10, captor.getValue().getPageSize());
     }
 
 
     @Test
     void getAllLog_whenSizeIsLessThanOne_shouldDefaultToTen() {
-        when(userLogRepository.findAll(any(Pageable.class)))
+        when(userLogRepository.findAllLogs(any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of()));
 
         userLogService.getAllLog(1, 0,null);
 
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(userLogRepository).findAll(captor.capture());
+        verify(userLogRepository).findAllLogs(captor.capture());
         assertEquals(10, captor.getValue().getPageSize());
     }
 
-}
+    @Test
+    void getAllLogWithCachedTotal_shouldUseCountersInsteadOfCountQuery() {
+        Slice<UserLogDTO> slice = new SliceImpl<>(List.of(userLogDTO), PageRequest.of(0, 10), false);
+        when(userLogRepository.findLogSliceByUserId(eq(userId), any(Pageable.class))).thenReturn(slice);
+        when(recordCounters.countLogs(userId)).thenReturn(25L);
+
+        Page<UserLogDTO> result = userLogService.getAllLogWithCachedTotal(1, 10, userId);
+
+        assertEquals(25L, result.getTotalElements());
+        verify(userLogRepository, never()).findLogsByUserId(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getLogSlice_shouldNotCountRows() {
+        Slice<UserLogDTO> slice = new SliceImpl<>(List.of(userLogDTO), PageRequest.of(0, 1), true);
+        when(userLogRepository.findLogSlice(any(Pageable.class))).thenReturn(slice);
+
+        Slice<UserLogDTO> result = userLogService.getLogSlice(1, 1, null);
+
+        assertTrue(result.hasNext());
+        verify(userLogRepository, never()).findAllLogs(any(Pageable.class));
+        verifyNoInteractions(recordCounters);
+    }
+
+    @Test
+    void getArchivedLog_shouldReadArchiveForRange() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        when(userLogArchiveRepository.read(from, to, userId, 0, 11)).thenReturn(List.of(userLogDTO));
+
+        Slice<UserLogDTO> result = userLogService.getArchivedLog(from, to, userId, null, null);
 
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.hasNext());
+        verifyNoInteractions(userLogRepository);
+    }
+
+    @Test
+    void getArchivedLog_hugeSize_shouldClampToMaxPageSize() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        when(userLogArchiveRepository.read(day, day, null, 1000, 1001)).thenReturn(List.of(userLogDTO));
+
+        Slice<UserLogDTO> result = userLogService.getArchivedLog(day, day, null, 2, 50_000);
+
+        assertEquals(1000, result.getSize());
+        verify(userLogArchiveRepository).read(day, day, null, 1000, 1001);
+    }
+
+    @Test
+    void getArchivedLog_whenRangeIsInvalid_shouldThrowValidationException() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        assertThrows(ValidationException.class,
+                () -> userLogService.getArchivedLog(from, from.minusDays(1), null, null, null));
+        assertThrows(ValidationException.class,
+                () -> userLogService.getArchivedLog(from, from.plusDays(31), null, null, null));
+        verifyNoInteractions(userLogArchiveRepository);
+    }
+
+    @Test
+    void getLogsVersion_shouldComeFromCountersWithoutQuery() {
+        when(recordCounters.logsVersion()).thenReturn("abc-7");
+
+        assertEquals("abc-7", userLogService.getLogsVersion());
+        verifyNoInteractions(userLogRepository);
+    }
+
+}
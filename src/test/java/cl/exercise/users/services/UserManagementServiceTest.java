@@ -4,32 +4,55 @@ import cl.exercise.users.dto.user.PhoneDTO;
 import cl.exercise.users.dto.user.UserRequestDTO;
 import cl.exercise.users.dto.user.UserResponseDTO;
 import cl.exercise.users.dto.ServiceResponseDTO;
+import cl.exercise.users.dto.CursorPageDTO;
 import cl.exercise.users.exception.EmailExistException;
+import cl.exercise.users.exception.ServiceUnavailableException;
 import cl.exercise.users.exception.ValidationException;
 import cl.exercise.users.mapper.MapperHelper;
-import cl.exercise.users.model.UserLogModel;
 import cl.exercise.users.model.UserModel;
-import cl.exercise.users.repository.UserLogRepository;
 import cl.exercise.users.repository.UserManagementRepository;
+import cl.exercise.users.repository.UserVersionView;
+import cl.exercise.users.service.AuditLogWriter;
+import cl.exercise.users.service.PasswordHashingService;
+import cl.exercise.users.TestUtils;
 import cl.exercise.users.service.impl.UserManagementServiceImpl;
 import cl.exercise.users.util.Constants;
+import cl.exercise.users.util.EmailBloomFilter;
+import cl.exercise.users.util.IdGenerator;
 import cl.exercise.users.util.JwtUtil;
 import cl.exercise.users.util.JwtUtilTest;
+import cl.exercise.users.util.PhoneFetchStrategy;
+import cl.exercise.users.util.RecordCounters;
+import cl.exercise.users.util.UserCache;
+import cl.exercise.users.util.UserWriteExecutor;
+import cl.exercise.users.util.UserCursor;
+import cl.exercise.users.util.VerifiedTokenCache;
 import cl.exercise.users.validator.ValidationHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -38,11 +61,19 @@ import static org.mockito.Mockito.*;
 class UserManagementServiceTest {
 
     @Mock private UserManagementRepository userManagementRepository;
-    @Mock private UserLogRepository userLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
     @Mock private MapperHelper mapperHelper;
     @Mock private ValidationHandler validationHandler;
     @Mock private JwtUtil jwtUtil;
-    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private PasswordHashingService passwordHashingService;
+    @Mock private RecordCounters recordCounters;
+    @Mock private IdGenerator idGenerator;
+    @Mock private UserCache userCache;
+    @Mock private EmailBloomFilter emailBloomFilter;
+    @Mock private VerifiedTokenCache verifiedTokenCache;
+    @Mock private UserWriteExecutor userWriteExecutor;
+    @Spy private ObjectMapper objectMapper = new ObjectMapper();
+    @Spy private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private UserManagementServiceImpl service;
@@ -72,33 +103,99 @@ class UserManagementServiceTest {
         userModel.setIsActive(true);
         userModel.setPhoneList(new ArrayList<>());
 
+        lenient().when(passwordHashingService.encode(any())).thenReturn(CompletableFuture.completedFuture("hash"));
+        lenient().doAnswer(i -> {
+            i.<Runnable>getArgument(0).run();
+            return null;
+        }).when(userWriteExecutor).execute(any());
+    }
+
+    // Espera la respuesta asíncrona y relanza la excepción original, como la ve el controlador.
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
     }
 
     @Test
     void addUser_whenEmailAlreadyExists_shouldThrowEmailExistException() {
-        when(userManagementRepository.existsByEmail(userRequestDTO.getEmail())).thenReturn(true);
+        when(mapperHelper.toEntity(any(), eq("hash"))).thenReturn(userModel);
+        when(userManagementRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("email_key"));
+        when(userManagementRepository.existsByEmailKey("nuevo@email.com")).thenReturn(true);
+
+        EmailExistException ex = assertThrows(EmailExistException.class, () -> await(service.addUser(userRequestDTO)));
+
+        assertEquals(Constants.EMAIL_REGISTERED, ex.getMessage());
+        verify(auditLogWriter, never()).append(any(), any());
+        verifyNoInteractions(recordCounters);
+    }
 
-        assertThrows(EmailExistException.class, () -> service.addUser(userRequestDTO));
+    @Test
+    void addUser_otherConstraintViolation_shouldNotReportEmailExists() {
+        when(mapperHelper.toEntity(any(), eq("hash"))).thenReturn(userModel);
+        when(userManagementRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(userManagementRepository.existsByEmailKey("nuevo@email.com")).thenReturn(false);
+
+        assertThrows(DataIntegrityViolationException.class, () -> await(service.addUser(userRequestDTO)));
+
+        verifyNoInteractions(recordCounters, auditLogWriter);
     }
 
     @Test
     void addUser_success_shouldReturnResponse() {
-        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
-        when(mapperHelper.toEntity(any())).thenReturn(userModel);
+        UserModel newUser = new UserModel();
+        newUser.setEmail(userRequestDTO.getEmail());
+        newUser.setPhoneList(new ArrayList<>());
+        UUID newId = UUID.randomUUID();
+        when(idGenerator.nextId()).thenReturn(newId);
+        when(mapperHelper.toEntity(any(), eq("hash"))).thenReturn(newUser);
         when(jwtUtil.generateToken(any())).thenReturn("fake-token");
-        when(userManagementRepository.save(any())).thenReturn(userModel);
+        when(userManagementRepository.saveAndFlush(any())).thenReturn(newUser);
         when(mapperHelper.mapToGenericResponse(any())).thenReturn(new ServiceResponseDTO());
 
-        ServiceResponseDTO response = service.addUser(userRequestDTO);
+        ServiceResponseDTO response = await(service.addUser(userRequestDTO));
 
         assertNotNull(response);
-        verify(userManagementRepository, times(2)).save(any(UserModel.class));
+        assertEquals(newId, newUser.getId());
+        assertEquals("fake-token", newUser.getToken());
+        verify(userManagementRepository, times(1)).saveAndFlush(newUser);
+        verify(userManagementRepository, never()).save(any(UserModel.class));
+        verify(userManagementRepository, never()).findById(any());
+        verify(userManagementRepository, never()).existsByEmailKey(any());
+        verify(recordCounters).userCreated();
+        verify(emailBloomFilter).add("nuevo@email.com");
+        verify(auditLogWriter).append(newId, Constants.CREATED);
+    }
+
+    @Test
+    void addUser_hashingPoolBusy_shouldThrowServiceUnavailable() {
+        when(passwordHashingService.encode(any())).thenThrow(new ServiceUnavailableException(Constants.SERVICE_BUSY));
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> service.addUser(userRequestDTO));
+
+        assertEquals(Constants.SERVICE_BUSY, ex.getMessage());
+        verify(userManagementRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(mapperHelper, transactionTemplate);
+    }
+
+    @Test
+    void addUser_writePoolBusy_shouldThrowServiceUnavailable() {
+        doThrow(new ServiceUnavailableException(Constants.SERVICE_BUSY)).when(userWriteExecutor).execute(any());
+
+        assertThrows(ServiceUnavailableException.class, () -> await(service.addUser(userRequestDTO)));
+
+        verify(passwordHashingService).encode("newpass123");
+        verifyNoInteractions(mapperHelper, transactionTemplate);
     }
 
     @Test
     void getByEmail_existingEmail_shouldReturnUser() {
-        when(userManagementRepository.existsByEmail(userModel.getEmail())).thenReturn(true);
-        when(userManagementRepository.findByEmailIgnoreCase(userModel.getEmail())).thenReturn(userModel);
+        when(userManagementRepository.findByEmailKey(userModel.getEmail())).thenReturn(Optional.of(userModel));
         when(mapperHelper.mapToUserResponse(any())).thenReturn(new UserResponseDTO());
 
         UserResponseDTO response = service.getByEmail(userModel.getEmail());
@@ -106,46 +203,146 @@ class UserManagementServiceTest {
         assertNotNull(response);
     }
 
+    @Test
+    void getByEmail_mixedCaseEmail_shouldLookupNormalizedKey() {
+        when(userManagementRepository.findByEmailKey("test@example.com")).thenReturn(Optional.of(userModel));
+        when(mapperHelper.mapToUserResponse(any())).thenReturn(new UserResponseDTO());
+
+        assertNotNull(service.getByEmail(" Test@Example.COM"));
+        verify(userManagementRepository, times(1)).findByEmailKey("test@example.com");
+    }
+
+    @Test
+    void getByEmail_cachedUser_shouldNotQueryRepository() {
+        UserResponseDTO cached = new UserResponseDTO();
+        when(userCache.getByEmail("test@example.com")).thenReturn(Optional.of(cached));
+
+        assertSame(cached, service.getByEmail("test@example.com"));
+        verifyNoInteractions(userManagementRepository, mapperHelper, emailBloomFilter);
+    }
+
+    @Test
+    void getByEmail_cacheMiss_shouldStoreResponse() {
+        UserResponseDTO response = new UserResponseDTO();
+        when(userManagementRepository.findByEmailKey("test@example.com")).thenReturn(Optional.of(userModel));
+        when(mapperHelper.mapToUserResponse(userModel)).thenReturn(response);
+
+        service.getByEmail("test@example.com");
+
+        verify(userCache).put(eq(response), any(byte[].class), any(), anyLong());
+    }
+
+    @Test
+    void getByEmailJson_cachedUser_shouldReturnStoredBytes() {
+        byte[] json = "{\"email\":\"test@example.com\"}".getBytes();
+        when(userCache.getJsonByEmail("test@example.com")).thenReturn(Optional.of(json));
+
+        assertSame(json, service.getByEmailJson("test@example.com"));
+        verifyNoInteractions(userManagementRepository, mapperHelper, objectMapper);
+    }
+
+    @Test
+    void getByEmailJson_cacheMiss_shouldSerializeOnceAndStoreWithUpdateDate() throws Exception {
+        LocalDateTime updated = LocalDateTime.of(2024, 5, 1, 10, 0);
+        userModel.setUpdateDate(updated);
+        UserResponseDTO response = new UserResponseDTO();
+        response.setEmail("test@example.com");
+        when(userManagementRepository.findByEmailKey("test@example.com")).thenReturn(Optional.of(userModel));
+        when(mapperHelper.mapToUserResponse(userModel)).thenReturn(response);
+        when(userCache.loadStamp()).thenReturn(42L);
+
+        byte[] json = service.getByEmailJson("test@example.com");
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(response), json);
+        verify(userCache).put(response, json, updated, 42L);
+        verify(objectMapper, times(1)).writeValueAsBytes(response);
+    }
+
+    @Test
+    void getUserVersion_cachedUser_shouldNotQueryRepository() {
+        when(userCache.getVersionByEmail("test@example.com")).thenReturn(Optional.of("v1"));
+
+        assertEquals("v1", service.getUserVersion("test@example.com"));
+        verifyNoInteractions(userManagementRepository, emailBloomFilter);
+    }
+
+    @Test
+    void getUserVersion_cacheMiss_shouldUseProjection() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 9, 0);
+        UUID id = UUID.randomUUID();
+        UserVersionView view = mock(UserVersionView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCreationDate()).thenReturn(created);
+        when(userManagementRepository.findVersionByEmailKey("test@example.com")).thenReturn(Optional.of(view));
+
+        assertEquals(id + "-" + created, service.getUserVersion("Test@Example.com"));
+        verify(userManagementRepository, never()).findByEmailKey(any());
+        verifyNoInteractions(mapperHelper);
+    }
+
+    @Test
+    void getUserVersion_cacheMiss_shouldQueryWithoutBloomFilter() {
+        when(userManagementRepository.findVersionByEmailKey("test@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(EmailExistException.class, () -> service.getUserVersion("test@example.com"));
+        verify(userManagementRepository).findVersionByEmailKey("test@example.com");
+        verifyNoInteractions(emailBloomFilter);
+    }
+
+    @Test
+    void getUsersVersion_shouldComeFromCounters() {
+        when(recordCounters.usersVersion()).thenReturn("abc-3");
+
+        assertEquals("abc-3", service.getUsersVersion());
+    }
+
     @Test
     void getByEmail_nonExistingEmail_shouldThrowException() {
-        when(userManagementRepository.existsByEmail(userModel.getEmail())).thenReturn(false);
+        when(userManagementRepository.findByEmailKey(userModel.getEmail())).thenReturn(Optional.empty());
 
         assertThrows(EmailExistException.class, () -> service.getByEmail(userModel.getEmail()));
     }
 
+    @Test
+    void getByEmail_registeredOnAnotherInstance_shouldNotTrustBloomFilter() {
+        when(userManagementRepository.findByEmailKey(userModel.getEmail())).thenReturn(Optional.of(userModel));
+        when(mapperHelper.mapToUserResponse(userModel)).thenReturn(new UserResponseDTO());
+
+        assertNotNull(service.getByEmail(userModel.getEmail()));
+        verifyNoInteractions(emailBloomFilter);
+    }
+
     @Test
     void getAllUser_returnsActiveUsers() {
         userModel.setIsActive(true);
 
         Page<UserModel> userPage = new PageImpl<>(List.of(userModel));
-        when(userManagementRepository.findAll(any(Pageable.class))).thenReturn(userPage);
+        when(userManagementRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(userPage);
         when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
 
         Page<UserResponseDTO> response = service.getAllUser(1, 10, "creationDate", "activos");
 
         assertFalse(response.isEmpty());
         verify(mapperHelper, times(1)).mapToUserResponse(any(UserModel.class));
+        verify(userManagementRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     void getAllUser_whenStatusIsInactivos_shouldReturnOnlyInactiveUsers() {
-        UserModel activeUser = new UserModel();
-        activeUser.setIsActive(true);
-
         UserModel inactiveUser = new UserModel();
         inactiveUser.setIsActive(false);
 
-        List<UserModel> users = List.of(activeUser, inactiveUser);
-        Page<UserModel> userPage = new PageImpl<>(users);
+        Page<UserModel> userPage = new PageImpl<>(List.of(inactiveUser), PageRequest.of(0, 10), 1);
 
-        when(userManagementRepository.findAll(any(Pageable.class))).thenReturn(userPage);
+        when(userManagementRepository.findByIsActive(eq(false), any(Pageable.class))).thenReturn(userPage);
         when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
 
         Page<UserResponseDTO> result = service.getAllUser(1, 10, "email", "inactivos");
 
-        // Solo debería quedar 1 usuario, el inactivo
+        // El filtro se resuelve en la consulta, el total corresponde solo a inactivos
         assertEquals(1, result.getContent().size());
-        verify(userManagementRepository).findAll(any(Pageable.class));
+        assertEquals(1, result.getTotalElements());
+        verify(userManagementRepository, never()).findAll(any(Pageable.class));
         verify(mapperHelper, times(1)).mapToUserResponse(inactiveUser);
     }
 
@@ -238,6 +435,124 @@ class UserManagementServiceTest {
         assertFalse(response.isEmpty());
     }
 
+    @Test
+    void getAllUserWithCachedTotal_shouldUseCountersInsteadOfCountQuery() {
+        Slice<UserModel> slice = new SliceImpl<>(List.of(userModel), PageRequest.of(0, 10), false);
+        when(userManagementRepository.findSliceByIsActive(eq(true), any(Pageable.class))).thenReturn(slice);
+        when(recordCounters.countUsers(true)).thenReturn(42L);
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        Page<UserResponseDTO> result = service.getAllUserWithCachedTotal(1, 10, null, "activos");
+
+        assertEquals(42L, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        verify(userManagementRepository, never()).findByIsActive(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getUserSlice_shouldReturnHasNextWithoutTotal() {
+        Slice<UserModel> slice = new SliceImpl<>(List.of(userModel), PageRequest.of(0, 1), true);
+        when(userManagementRepository.findAllBy(any(Pageable.class))).thenReturn(slice);
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        Slice<UserResponseDTO> result = service.getUserSlice(1, 1, null, null);
+
+        assertTrue(result.hasNext());
+        assertEquals(1, result.getContent().size());
+        verify(userManagementRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getAllUser_withJoinStrategy_shouldFetchPhonesInOneQuery() {
+        TestUtils.setField(service, "phoneFetchStrategy", PhoneFetchStrategy.JOIN);
+        when(userManagementRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(userModel)));
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        service.getAllUser(1, 10, null, null);
+
+        verify(userManagementRepository).findWithPhonesByIdIn(List.of(userModel.getId()));
+    }
+
+    @Test
+    void getAllUser_withBatchStrategy_shouldNotIssueExtraQuery() {
+        when(userManagementRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(userModel)));
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        service.getAllUser(1, 10, null, null);
+
+        verify(userManagementRepository, never()).findWithPhonesByIdIn(any());
+    }
+
+    @Test
+    void getUsersAfter_withoutCursor_shouldReadFirstPage() {
+        userModel.setCreationDate(LocalDateTime.now());
+        when(userManagementRepository.findAllByOrderByCreationDateAscIdAsc(any(Limit.class)))
+                .thenReturn(List.of(userModel));
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        CursorPageDTO<UserResponseDTO> result = service.getUsersAfter("", null, null);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getUsersAfter_hugeSize_shouldClampToMaxPageSize() {
+        when(userManagementRepository.findAllByOrderByCreationDateAscIdAsc(any(Limit.class))).thenReturn(List.of());
+
+        CursorPageDTO<UserResponseDTO> result = service.getUsersAfter("", Integer.MAX_VALUE, null);
+
+        assertEquals(100, result.getSize());
+        verify(userManagementRepository).findAllByOrderByCreationDateAscIdAsc(Limit.of(101));
+    }
+
+    @Test
+    void getUsersAfter_withCursor_shouldSeekAndReturnNextCursor() {
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 10, 0);
+        UUID lastId = UUID.randomUUID();
+        String after = new UserCursor(created, lastId).encode();
+
+        UserModel first = new UserModel();
+        first.setId(UUID.randomUUID());
+        first.setCreationDate(created.plusMinutes(1));
+        UserModel second = new UserModel();
+        second.setId(UUID.randomUUID());
+        second.setCreationDate(created.plusMinutes(2));
+
+        when(userManagementRepository.findPageAfter(eq(created), eq(lastId), any(Limit.class)))
+                .thenReturn(List.of(first, second));
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        CursorPageDTO<UserResponseDTO> result = service.getUsersAfter(after, 1, null);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(UserCursor.of(first), UserCursor.decode(result.getNextCursor()));
+        verify(userManagementRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getUsersAfter_withStatus_shouldFilterInQuery() {
+        when(userManagementRepository.findByIsActiveOrderByCreationDateAscIdAsc(eq(true), any(Limit.class)))
+                .thenReturn(List.of());
+
+        CursorPageDTO<UserResponseDTO> result = service.getUsersAfter(null, 10, "activos");
+
+        assertTrue(result.getContent().isEmpty());
+        verify(userManagementRepository, never()).findAllByOrderByCreationDateAscIdAsc(any(Limit.class));
+    }
+
+    @Test
+    void getUsersAfter_withInvalidCursor_shouldThrowValidationException() {
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> service.getUsersAfter("no-es-un-cursor", 10, null));
+
+        assertEquals(Constants.INVALID_CURSOR, ex.getMessage());
+    }
+
     @Test
     void activateUser_inactiveUser_logsReactivation() {
         userModel.setIsActive(false);
@@ -249,7 +564,9 @@ class UserManagementServiceTest {
         service.activateUser(userModel.getId());
 
         verify(userManagementRepository).save(userModel);
-        verify(userLogRepository).save(any(UserLogModel.class));
+        verify(auditLogWriter).append(userModel.getId(), Constants.REACTIVATED);
+        verify(userCache).evict(userModel.getId());
+        verify(recordCounters).userActivated();
     }
 
     @Test
@@ -267,7 +584,7 @@ class UserManagementServiceTest {
         service.activateUser(UUID.randomUUID());
 
         verify(userManagementRepository).save(any());
-        verify(userLogRepository).save(any());
+        verify(auditLogWriter).append(any(), any());
     }
 
     @Test
@@ -292,7 +609,10 @@ class UserManagementServiceTest {
         service.deleteUser(userModel.getId());
 
         verify(userManagementRepository).save(userModel);
-        verify(userLogRepository).save(any(UserLogModel.class));
+        verify(auditLogWriter).append(userModel.getId(), Constants.DEACTIVATED);
+        verify(userCache).evict(userModel.getId());
+        verify(verifiedTokenCache).evictUser(userModel.getId());
+        verify(recordCounters).userDeactivated();
     }
 
     @Test
@@ -321,7 +641,7 @@ class UserManagementServiceTest {
         service.deleteUser(UUID.randomUUID());
 
         verify(userManagementRepository).save(any());
-        verify(userLogRepository).save(any());
+        verify(auditLogWriter).append(any(), any());
     }
 
     @Test
@@ -329,7 +649,7 @@ class UserManagementServiceTest {
         when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.empty());
 
         assertThrows(
-                ValidationException.class, () -> service.updateUser(userModel.getId(), userRequestDTO));
+                ValidationException.class, () -> await(service.updateUser(userModel.getId(), userRequestDTO)));
     }
 
     @Test
@@ -345,7 +665,7 @@ class UserManagementServiceTest {
         dummyRequest.setName("Test");
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            service.updateUser(userModel.getId(), dummyRequest);
+            await(service.updateUser(userModel.getId(), dummyRequest));
         });
 
         assertEquals(Constants.INACTIVE_CANT_UPDATE, exception.getMessage());
@@ -358,11 +678,73 @@ class UserManagementServiceTest {
         when(userManagementRepository.save(any(UserModel.class))).thenAnswer(i -> i.getArgument(0));
         when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
 
-        UserResponseDTO response = service.updateUser(userModel.getId(), userRequestDTO);
+        UserResponseDTO response = await(service.updateUser(userModel.getId(), userRequestDTO));
 
         assertNotNull(response);
         verify(userManagementRepository).save(userModel);
         verify(validationHandler).validateUserIsActive(userModel);
+        verify(userCache).evict(userModel.getId());
+        verify(recordCounters).userUpdated();
+        verify(userManagementRepository, times(1)).findById(userModel.getId());
+        verify(jwtUtil).generateToken(userModel);
+        verify(userManagementRepository, never()).existsByEmailKey(any());
+        verify(emailBloomFilter).add("nuevo@email.com");
+        verify(validationHandler).validatePassword("newpass123");
+        assertEquals("hash", userModel.getPasswd());
+        verify(userWriteExecutor).execute(any());
+    }
+
+    @Test
+    void updateUser_emailTaken_shouldThrowEmailExistException() {
+        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
+        when(emailBloomFilter.mightContain("nuevo@email.com")).thenReturn(true);
+        when(userManagementRepository.existsByEmailKey("nuevo@email.com")).thenReturn(true);
+
+        EmailExistException ex = assertThrows(EmailExistException.class,
+                () -> await(service.updateUser(userModel.getId(), userRequestDTO)));
+
+        assertEquals(Constants.EMAIL_REGISTERED, ex.getMessage());
+        assertEquals("test@example.com", userModel.getEmail());
+        verify(userManagementRepository, never()).save(any(UserModel.class));
+        verify(emailBloomFilter, never()).add(any());
+    }
+
+    @Test
+    void updateUser_emailRegisteredConcurrently_shouldThrowEmailExistException() {
+        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
+        when(userManagementRepository.save(any(UserModel.class)))
+                .thenThrow(new DataIntegrityViolationException("email_key"));
+        when(userManagementRepository.existsByEmailKeyAndIdNot("nuevo@email.com", userModel.getId()))
+                .thenReturn(true);
+
+        assertThrows(EmailExistException.class,
+                () -> await(service.updateUser(userModel.getId(), userRequestDTO)));
+    }
+
+    @Test
+    void updateUser_otherConstraintViolation_shouldNotReportEmailExists() {
+        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
+        when(userManagementRepository.save(any(UserModel.class)))
+                .thenThrow(new DataIntegrityViolationException("phone"));
+        when(userManagementRepository.existsByEmailKeyAndIdNot("nuevo@email.com", userModel.getId()))
+                .thenReturn(false);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> await(service.updateUser(userModel.getId(), userRequestDTO)));
+    }
+
+    @Test
+    void updateUser_bloomFalsePositive_shouldRecordItAndUpdate() {
+        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
+        when(emailBloomFilter.mightContain("nuevo@email.com")).thenReturn(true);
+        when(userManagementRepository.existsByEmailKey("nuevo@email.com")).thenReturn(false);
+        when(userManagementRepository.save(any(UserModel.class))).thenAnswer(i -> i.getArgument(0));
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        await(service.updateUser(userModel.getId(), userRequestDTO));
+
+        verify(emailBloomFilter).recordFalsePositive();
+        verify(userManagementRepository).save(userModel);
     }
 
     @Test
@@ -373,32 +755,55 @@ class UserManagementServiceTest {
         when(userManagementRepository.save(any(UserModel.class))).thenReturn(userModel);
         when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
 
-        UserResponseDTO response = service.updateUser(userModel.getId(), request);
+        UserResponseDTO response = await(service.updateUser(userModel.getId(), request));
 
         assertNotNull(response);
         verify(userManagementRepository).save(userModel);
+        verifyNoInteractions(emailBloomFilter, jwtUtil, passwordHashingService);
+        verify(userWriteExecutor).execute(any());
     }
 
     @Test
-    void generarToken_whenUserFound_shouldReturnToken() {
-        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
+    void updateUser_withoutPassword_writePoolFull_shouldThrowServiceUnavailable() {
+        doThrow(new ServiceUnavailableException(Constants.SERVICE_BUSY)).when(userWriteExecutor).execute(any());
 
-        String expectedToken = "dummy-token";
+        assertThrows(ServiceUnavailableException.class,
+                () -> await(service.updateUser(userModel.getId(), new UserRequestDTO())));
+        verifyNoInteractions(userManagementRepository, transactionTemplate);
+    }
 
-        when(jwtUtil.generateToken(userModel)).thenReturn(expectedToken);
+    @Test
+    void updateUser_passwordOnly_shouldKeepToken() {
+        userModel.setToken("original-token");
+        UserRequestDTO request = new UserRequestDTO();
+        request.setPasswd("newpass123");
 
-        String token = service.generateToken(userModel);
+        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
+        when(userManagementRepository.save(any(UserModel.class))).thenReturn(userModel);
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        await(service.updateUser(userModel.getId(), request));
 
-        assertEquals(expectedToken, token);
+        assertEquals("original-token", userModel.getToken());
+        assertEquals("hash", userModel.getPasswd());
+        verifyNoInteractions(jwtUtil, verifiedTokenCache);
+        verify(userManagementRepository, times(1)).findById(userModel.getId());
     }
 
     @Test
-    void generarToken_whenUserNotFound_shouldThrowValidationException() {
-        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.empty());
+    void updateUser_nameChanged_shouldRegenerateToken() {
+        userModel.setToken("original-token");
+        UserRequestDTO request = new UserRequestDTO();
+        request.setName("Otro Nombre");
 
-        ValidationException ex = assertThrows(ValidationException.class,
-                () -> service.generateToken(userModel));
+        when(userManagementRepository.findById(userModel.getId())).thenReturn(Optional.of(userModel));
+        when(jwtUtil.generateToken(userModel)).thenReturn("new-token");
+        when(userManagementRepository.save(any(UserModel.class))).thenReturn(userModel);
+        when(mapperHelper.mapToUserResponse(any(UserModel.class))).thenReturn(new UserResponseDTO());
+
+        await(service.updateUser(userModel.getId(), request));
 
-        assertTrue(ex.getMessage().contains(Constants.USER_NOT_FOUND));
+        assertEquals("new-token", userModel.getToken());
+        verify(verifiedTokenCache).evictUser(userModel.getId());
     }
 }
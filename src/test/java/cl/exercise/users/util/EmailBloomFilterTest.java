@@ -0,0 +1,102 @@
+package cl.exercise.users.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class EmailBloomFilterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailBloomFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new EmailBloomFilter(jdbcTemplate, meterRegistry, 0.01, 10_000);
+    }
+
+    @Test
+    public void testMightContain_beforeRebuild_answersMaybe() {
+        assertTrue(filter.mightContain("nadie@test.cl"));
+        assertEquals(1.0, filter.expectedFpp());
+    }
+
+    @Test
+    public void testRebuild_loadsRegisteredEmailKeys() throws Exception {
+        rebuildWith(List.of("juan@test.cl", "ana@test.cl"));
+
+        assertTrue(filter.mightContain("juan@test.cl"));
+        assertTrue(filter.mightContain(" Ana@Test.CL"));
+        assertFalse(filter.mightContain("pedro@test.cl"));
+    }
+
+    @Test
+    public void testAdd_withoutTransaction_isVisibleImmediately() throws Exception {
+        rebuildWith(List.of());
+
+        filter.add("Nuevo@Test.cl");
+
+        assertTrue(filter.mightContain("nuevo@test.cl"));
+    }
+
+    @Test
+    public void testFalsePositiveRate_staysNearTarget() throws Exception {
+        rebuildWith(List.of());
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@test.cl");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("otro" + i + "@test.cl")) falsePositives++;
+        }
+
+        assertTrue(falsePositives < 300, "falsos positivos: " + falsePositives);
+        assertTrue(filter.expectedFpp() < 0.02);
+    }
+
+    @Test
+    public void testObservedFpp_countsConfirmedFalsePositives() throws Exception {
+        rebuildWith(List.of("juan@test.cl"));
+
+        filter.mightContain("pedro@test.cl");
+        filter.mightContain("maria@test.cl");
+        filter.mightContain("luis@test.cl");
+        filter.recordFalsePositive();
+
+        assertEquals(0.25, filter.observedFpp(), 1e-9);
+        assertEquals(0.25, meterRegistry.get("users.email.bloom.observed_fpp").gauge().value(), 1e-9);
+        assertEquals(3, meterRegistry.get("users.email.bloom.probes").tag("result", "negative").counter().count());
+    }
+
+    private void rebuildWith(List<String> emailKeys) throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn((long) emailKeys.size());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String key : emailKeys) {
+                ResultSet rs = Mockito.mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn(key);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        filter.rebuild();
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.security.Key;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.UUID;
 
@@ -45,9 +47,80 @@ public class JwtUtilTest {
         assertTrue(claims.getExpiration().after(new Date()));
     }
 
+    @Test
+    public void testGenerateToken_isByteIdenticalToJjwt() {
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setEmail("josé.ñuñez@example.com");
+        user.setName("José \"Pepe\" Ñuñez\\\n\t\u0001/€😀");
+        Instant now = Instant.parse("2025-01-31T23:59:59.987Z");
+
+        assertEquals(jjwtToken(user, now), jwtUtil.generateToken(user, now));
+    }
+
+    @Test
+    public void testGenerateToken_omitsNullClaimsLikeJjwt() {
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        Instant now = Instant.parse("2025-06-15T10:00:00Z");
+
+        String token = jwtUtil.generateToken(user, now);
+
+        assertEquals(jjwtToken(user, now), token);
+        assertNull(parseToken(token, now).get("name"));
+    }
+
+    @Test
+    public void testGenerateToken_keepsLoneSurrogates() {
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setName("a\uD83Db");
+
+        assertEquals("a\uD83Db", parseToken(jwtUtil.generateToken(user)).get("name"));
+    }
+
+    @Test
+    public void testGenerateToken_acrossThreads_verifies() throws Exception {
+        UserModel user = new UserModel();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setName("Test User");
+
+        Thread[] threads = new Thread[4];
+        String[] tokens = new String[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> tokens[index] = jwtUtil.generateToken(user));
+            threads[i].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        for (String token : tokens) {
+            assertEquals(user.getId().toString(), parseToken(token).getSubject());
+        }
+    }
+
+    private String jjwtToken(UserModel user, Instant now) {
+        return Jwts.builder()
+                .setSubject(user.getId().toString())
+                .claim("email", user.getEmail())
+                .claim("name", user.getName())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.atZone(ZoneId.systemDefault()).plusMonths(6).toInstant()))
+                .signWith(secretKey, io.jsonwebtoken.SignatureAlgorithm.HS256)
+                .compact();
+    }
+
     private Claims parseToken(String token) {
+        return parseToken(token, Instant.now());
+    }
+
+    // Con el reloj fijado en la emisión, un token firmado en una fecha pasada no aparece vencido.
+    private Claims parseToken(String token, Instant now) {
         return Jwts.parserBuilder()
                 .setSigningKey(secretKey)
+                .setClock(() -> Date.from(now))
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
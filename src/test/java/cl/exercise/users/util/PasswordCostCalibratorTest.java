@@ -0,0 +1,75 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.config.SecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordCostCalibratorTest {
+
+    private final PasswordCostCalibrator calibrator = new PasswordCostCalibrator(Duration.ofMillis(50));
+
+    // Cada punto de fuerza duplica el tiempo: fuerza 10 = 40 ms.
+    private static long simulatedNanos(int strength) {
+        return Duration.ofMillis(40).toNanos() << strength >> 10;
+    }
+
+    @Test
+    public void testBcryptStrength_picksHighestStrengthWithinTarget() {
+        assertEquals(10, calibrator.bcryptStrength(4, 31, PasswordCostCalibratorTest::simulatedNanos));
+    }
+
+    @Test
+    public void testBcryptStrength_respectsBounds() {
+        assertEquals(12, calibrator.bcryptStrength(12, 31, PasswordCostCalibratorTest::simulatedNanos));
+        assertEquals(8, calibrator.bcryptStrength(4, 8, PasswordCostCalibratorTest::simulatedNanos));
+    }
+
+    @Test
+    public void testBcryptStrength_measuresOnThisMachine() {
+        int strength = calibrator.bcryptStrength(4, 5);
+
+        assertTrue(strength == 4 || strength == 5);
+    }
+
+    @Test
+    public void testPasswordEncoder_upgradesLegacyAndWeakerHashes() {
+        SecurityConfig config = new SecurityConfig();
+        ReflectionTestUtils.setField(config, "algorithm", "bcrypt");
+        ReflectionTestUtils.setField(config, "strength", 5);
+        PasswordEncoder encoder = config.passwordEncoder();
+
+        String legacy = new BCryptPasswordEncoder(4).encode("Clave123");
+        String current = encoder.encode("Clave123");
+
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("Clave123", legacy));
+        assertTrue(encoder.matches("Clave123", current));
+        assertTrue(encoder.upgradeEncoding(legacy));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + legacy));
+        assertFalse(encoder.upgradeEncoding(current));
+    }
+
+    @Test
+    public void testPasswordEncoder_pbkdf2StillMatchesBcrypt() {
+        SecurityConfig config = new SecurityConfig();
+        ReflectionTestUtils.setField(config, "algorithm", "pbkdf2");
+        ReflectionTestUtils.setField(config, "minStrength", 4);
+        PasswordEncoder encoder = config.passwordEncoder();
+
+        String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("Clave123");
+        String current = encoder.encode("Clave123");
+
+        assertTrue(current.startsWith("{pbkdf2}"));
+        assertTrue(encoder.matches("Clave123", current));
+        assertTrue(encoder.matches("Clave123", bcrypt));
+        assertTrue(encoder.upgradeEncoding(bcrypt));
+    }
+}
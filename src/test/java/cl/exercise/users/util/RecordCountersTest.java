@@ -0,0 +1,123 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.repository.UserLogRepository;
+import cl.exercise.users.repository.UserManagementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.*;
+
+public class RecordCountersTest {
+
+    private UserManagementRepository userManagementRepository;
+    private UserLogRepository userLogRepository;
+    private RecordCounters recordCounters;
+
+    @BeforeEach
+    public void setup() {
+        userManagementRepository = Mockito.mock(UserManagementRepository.class);
+        userLogRepository = Mockito.mock(UserLogRepository.class);
+        when(userManagementRepository.count()).thenReturn(10L);
+        when(userManagementRepository.countByIsActive(true)).thenReturn(7L);
+        when(userLogRepository.count()).thenReturn(30L);
+
+        recordCounters = new RecordCounters(userManagementRepository, userLogRepository);
+        recordCounters.resync();
+    }
+
+    @Test
+    public void testCountUsers_byStatus() {
+        assertEquals(10L, recordCounters.countUsers(null));
+        assertEquals(7L, recordCounters.countUsers(true));
+        assertEquals(3L, recordCounters.countUsers(false));
+    }
+
+    @Test
+    public void testUserWrites_updateTotalsWithoutQuerying() {
+        recordCounters.userCreated();
+        recordCounters.userDeactivated();
+        recordCounters.userDeactivated();
+        recordCounters.userActivated();
+
+        assertEquals(11L, recordCounters.countUsers(null));
+        assertEquals(7L, recordCounters.countUsers(true));
+        assertEquals(4L, recordCounters.countUsers(false));
+        verify(userManagementRepository, times(1)).count();
+    }
+
+    @Test
+    public void testVersions_advanceOnEveryWrite() {
+        String users = recordCounters.usersVersion();
+        String logs = recordCounters.logsVersion();
+
+        recordCounters.userUpdated();
+
+        assertNotEquals(users, recordCounters.usersVersion());
+        assertEquals(logs, recordCounters.logsVersion());
+
+        users = recordCounters.usersVersion();
+        recordCounters.logInserted(UUID.randomUUID());
+
+        assertEquals(users, recordCounters.usersVersion());
+        assertNotEquals(logs, recordCounters.logsVersion());
+    }
+
+    @Test
+    public void testCountLogs_perUserIsSeededOnceAndIncremented() {
+        UUID userId = UUID.randomUUID();
+        when(userLogRepository.countByUserModel_Id(userId)).thenReturn(2L);
+
+        assertEquals(2L, recordCounters.countLogs(userId));
+        recordCounters.logInserted(userId);
+
+        assertEquals(3L, recordCounters.countLogs(userId));
+        assertEquals(31L, recordCounters.countLogs(null));
+        verify(userLogRepository, times(1)).countByUserModel_Id(userId);
+    }
+
+    @Test
+    public void testCountLogs_logCommittedDuringCount_isNotCached() {
+        UUID userId = UUID.randomUUID();
+        when(userLogRepository.countByUserModel_Id(userId))
+                .thenAnswer(i -> {
+                    recordCounters.logInserted(userId);
+                    return 2L;
+                })
+                .thenReturn(3L);
+
+        assertEquals(2L, recordCounters.countLogs(userId));
+        assertEquals(3L, recordCounters.countLogs(userId));
+        assertEquals(3L, recordCounters.countLogs(userId));
+        verify(userLogRepository, times(2)).countByUserModel_Id(userId);
+    }
+
+    @Test
+    public void testCountLogs_whileLogWriteIsPending_isNotCached() {
+        UUID userId = UUID.randomUUID();
+        when(userLogRepository.countByUserModel_Id(userId)).thenReturn(2L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            recordCounters.logInserted(UUID.randomUUID());
+            recordCounters.countLogs(userId);
+            recordCounters.countLogs(userId);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(userLogRepository, times(2)).countByUserModel_Id(userId);
+    }
+
+    @Test
+    public void testActiveUsersChanged_appliesBulkDelta() {
+        recordCounters.activeUsersChanged(-5);
+
+        assertEquals(2L, recordCounters.countUsers(true));
+        assertEquals(8L, recordCounters.countUsers(false));
+    }
+}
@@ -0,0 +1,41 @@
+package cl.exercise.users.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedIdGeneratorTest {
+
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    public void testNextId_isVersion7WithRfcVariant() {
+        UUID id = generator.nextId();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    public void testNextId_embedsCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after + 1);
+    }
+
+    @Test
+    public void testNextId_isStrictlyIncreasing() {
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 20_000; i++) {
+            UUID current = generator.nextId();
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(),
+                    previous.getMostSignificantBits()) > 0);
+            previous = current;
+        }
+    }
+}
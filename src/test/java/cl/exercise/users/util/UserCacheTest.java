@@ -0,0 +1,164 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.dto.user.UserResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserCacheTest {
+
+    private static final byte[] JSON = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+    private UserResponseDTO user;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(meterRegistry, true, 100, Duration.ofMinutes(10));
+        user = new UserResponseDTO();
+        user.setId(UUID.randomUUID());
+        user.setEmail("Juan@Example.com");
+    }
+
+    @Test
+    public void testGetByEmail_usesNormalizedKey() {
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+
+        assertSame(user, userCache.getByEmail(" juan@example.COM").orElseThrow());
+    }
+
+    @Test
+    public void testGetJsonByEmail_returnsStoredBytes() {
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+
+        assertSame(JSON, userCache.getJsonByEmail("JUAN@example.com").orElseThrow());
+    }
+
+    @Test
+    public void testGetVersionByEmail_combinesIdAndLastModified() {
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+
+        assertEquals(user.getId() + "-" + VERSION, userCache.getVersionByEmail("juan@example.com").orElseThrow());
+    }
+
+    @Test
+    public void testPut_olderVersionDoesNotReplaceNewer() {
+        UserResponseDTO stale = new UserResponseDTO();
+        stale.setId(user.getId());
+        stale.setEmail(user.getEmail());
+        byte[] staleJson = "{\"stale\":true}".getBytes(StandardCharsets.UTF_8);
+
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+        userCache.put(stale, staleJson, VERSION.minusMinutes(1), userCache.loadStamp());
+
+        assertSame(user, userCache.getByEmail(user.getEmail()).orElseThrow());
+        assertSame(JSON, userCache.getJsonByEmail(user.getEmail()).orElseThrow());
+    }
+
+    @Test
+    public void testPut_olderVersionWithPreviousEmailIsNotIndexed() {
+        UserResponseDTO stale = new UserResponseDTO();
+        stale.setId(user.getId());
+        stale.setEmail("anterior@example.com");
+
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+        userCache.put(stale, JSON, VERSION.minusMinutes(1), userCache.loadStamp());
+
+        assertTrue(userCache.getByEmail("anterior@example.com").isEmpty());
+        assertSame(user, userCache.getByEmail(user.getEmail()).orElseThrow());
+    }
+
+    @Test
+    public void testGetByEmail_afterEmailChange_doesNotReturnPreviousOwner() {
+        UserResponseDTO changed = new UserResponseDTO();
+        changed.setId(user.getId());
+        changed.setEmail("nuevo@example.com");
+        UserResponseDTO other = new UserResponseDTO();
+        other.setId(UUID.randomUUID());
+        other.setEmail(user.getEmail());
+
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+        userCache.put(changed, JSON, VERSION.plusMinutes(1), userCache.loadStamp());
+
+        assertTrue(userCache.getByEmail(user.getEmail()).isEmpty());
+        assertSame(changed, userCache.getByEmail("nuevo@example.com").orElseThrow());
+
+        userCache.put(other, JSON, VERSION, userCache.loadStamp());
+
+        assertSame(other, userCache.getByEmail(user.getEmail()).orElseThrow());
+    }
+
+    @Test
+    public void testPut_newerVersionReplacesEntry() {
+        UserResponseDTO fresh = new UserResponseDTO();
+        fresh.setId(user.getId());
+        fresh.setEmail(user.getEmail());
+
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+        userCache.put(fresh, JSON, VERSION.plusMinutes(1), userCache.loadStamp());
+
+        assertSame(fresh, userCache.getByEmail(user.getEmail()).orElseThrow());
+    }
+
+    @Test
+    public void testEvict_removesIdAndEmailEntries() {
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+
+        userCache.evict(user.getId());
+
+        assertTrue(userCache.getByEmail("juan@example.com").isEmpty());
+    }
+
+    @Test
+    public void testPut_loadStartedBeforeEvictIsNotCached() {
+        long loadedAt = userCache.loadStamp();
+        userCache.evict(user.getId());
+
+        userCache.put(user, JSON, VERSION, loadedAt);
+
+        assertTrue(userCache.getJsonByEmail(user.getEmail()).isEmpty());
+    }
+
+    @Test
+    public void testPut_loadStartedAfterEvictIsCached() {
+        userCache.evict(user.getId());
+
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+
+        assertSame(user, userCache.getByEmail(user.getEmail()).orElseThrow());
+    }
+
+    @Test
+    public void testMetrics_recordHitsAndMisses() {
+        userCache.put(user, JSON, VERSION, userCache.loadStamp());
+        userCache.getByEmail(user.getEmail());
+        userCache.getByEmail("otro@example.com");
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "users.byEmail", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "users.byEmail", "result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "users.byId", "result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testDisabled_neverReturnsEntries() {
+        UserCache disabled = new UserCache(new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(10));
+        disabled.put(user, JSON, VERSION, disabled.loadStamp());
+
+        assertTrue(disabled.getByEmail(user.getEmail()).isEmpty());
+    }
+}
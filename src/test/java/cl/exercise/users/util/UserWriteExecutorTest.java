@@ -0,0 +1,64 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserWriteExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserWriteExecutor executor;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new UserWriteExecutor(meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testExecute_runsOnWritePool() {
+        String thread = CompletableFuture.completedFuture("hash")
+                .thenApplyAsync(hash -> Thread.currentThread().getName(), executor::execute)
+                .join();
+
+        assertTrue(thread.startsWith("user-write-"), thread);
+    }
+
+    @Test
+    public void testExecute_queueFull_rejectsWithServiceUnavailable() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> executor.execute(() -> { }));
+
+        assertEquals(Constants.SERVICE_BUSY, ex.getMessage());
+        assertEquals(1.0, meterRegistry.get("users.write.rejected").counter().count());
+        release.countDown();
+    }
+}
@@ -7,7 +7,6 @@ import cl.exercise.users.validator.ValidationHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -21,7 +20,6 @@ public class UtilsTest {
 
     private UserModel user;
     private UserRequestDTO dto;
-    private PasswordEncoder passwordEncoder;
     private ValidationHandler validationHandler;
 
     @BeforeEach
@@ -34,7 +32,6 @@ public class UtilsTest {
         user.setPhoneList(new ArrayList<>());
 
         dto = new UserRequestDTO();
-        passwordEncoder = Mockito.mock(PasswordEncoder.class);
         validationHandler = Mockito.mock(ValidationHandler.class);
     }
 
@@ -45,20 +42,45 @@ public class UtilsTest {
         assertThrows(InvocationTargetException.class, constructor::newInstance);
     }
 
+    @Test
+    public void testNormalizeEmail() {
+        assertEquals("user@email.com", Utils.normalizeEmail("  User@Email.COM "));
+        assertNull(Utils.normalizeEmail(null));
+    }
+
+    @Test
+    public void testUpdateEmail_updatesLookupKey() {
+        dto.setEmail("New@Email.com");
+
+        assertTrue(Utils.updateBasicInfo(user, dto, null, validationHandler));
+
+        assertEquals("New@Email.com", user.getEmail());
+        assertEquals("new@email.com", user.getEmailKey());
+    }
+
     @Test
     public void testUpdateName() {
         dto.setName("Updated Name");
 
-        Utils.updateBasicInfo(user, dto, passwordEncoder, validationHandler);
+        assertTrue(Utils.updateBasicInfo(user, dto, null, validationHandler));
 
         assertEquals("Updated Name", user.getName());
     }
 
+    @Test
+    public void testUpdateBasicInfo_sameNameOrPasswordOnly_reportsNoClaimChange() {
+        dto.setName("Original Name");
+        dto.setEmail("ORIGINAL@email.com");
+        dto.setPasswd("new-pass");
+
+        assertFalse(Utils.updateBasicInfo(user, dto, "encoded-pass", validationHandler));
+    }
+
     @Test
     public void testUpdateEmail_validNewEmail() {
         dto.setEmail("new@email.com");
 
-        Utils.updateBasicInfo(user, dto, passwordEncoder, validationHandler);
+        Utils.updateBasicInfo(user, dto, null, validationHandler);
 
         Mockito.verify(validationHandler).validateEmail("new@email.com");
         assertEquals("new@email.com", user.getEmail());
@@ -68,24 +90,40 @@ public class UtilsTest {
     public void testUpdateEmail_sameEmail_shouldNotUpdate() {
         dto.setEmail("original@email.com");
 
-        Utils.updateBasicInfo(user, dto, passwordEncoder, validationHandler);
+        Utils.updateBasicInfo(user, dto, null, validationHandler);
 
         Mockito.verify(validationHandler, Mockito.never()).validateEmail(Mockito.anyString());
         assertEquals("original@email.com", user.getEmail());
     }
 
     @Test
-    public void testUpdatePassword() {
+    public void testUpdateEmail_onlyWhitespaceOrCaseDiffers_shouldNotUpdate() {
+        dto.setEmail("  Original@Email.COM ");
+
+        assertFalse(Utils.updateBasicInfo(user, dto, null, validationHandler));
+
+        Mockito.verify(validationHandler, Mockito.never()).validateEmail(Mockito.anyString());
+        assertEquals("original@email.com", user.getEmail());
+    }
+
+    @Test
+    public void testUpdatePassword_setsGivenHash() {
         dto.setPasswd("new-pass");
-        Mockito.when(passwordEncoder.encode("new-pass")).thenReturn("encoded-pass");
 
-        Utils.updateBasicInfo(user, dto, passwordEncoder, validationHandler);
+        Utils.updateBasicInfo(user, dto, "encoded-pass", validationHandler);
 
-        Mockito.verify(validationHandler).validatePassword("new-pass");
-        Mockito.verify(passwordEncoder).encode("new-pass");
         assertEquals("encoded-pass", user.getPasswd());
     }
 
+    @Test
+    public void testUpdatePassword_withoutHash_keepsPassword() {
+        dto.setPasswd("new-pass");
+
+        Utils.updateBasicInfo(user, dto, null, validationHandler);
+
+        assertEquals("original-password", user.getPasswd());
+    }
+
     @Test
     public void testUpdatePhones_withExistingPhone_updatesCodCityAndCodCountry() {
         PhoneModel existing = new PhoneModel();
@@ -126,6 +164,34 @@ public class UtilsTest {
         assertSame(user, added.getUser());
     }
 
+    @Test
+    public void testUpdatePhones_removesPhonesMissingFromRequest() {
+        PhoneModel kept = phone("1111111");
+        PhoneModel dropped = phone("2222222");
+        user.getPhoneList().addAll(List.of(kept, dropped));
+
+        Utils.updatePhones(user, List.of(
+                PhoneDTO.builder().phoneNumber("1111111").codCity("1").codCountry("56").build(),
+                PhoneDTO.builder().phoneNumber("3333333").codCity("2").codCountry("56").build()));
+
+        assertEquals(2, user.getPhoneList().size());
+        assertSame(kept, user.getPhoneList().get(0));
+        assertEquals("3333333", user.getPhoneList().get(1).getPhoneNumber());
+        assertFalse(user.getPhoneList().contains(dropped));
+    }
+
+    @Test
+    public void testUpdatePhones_duplicatedNumbers_keepOnePhone() {
+        user.getPhoneList().addAll(List.of(phone("1111111"), phone("1111111")));
+
+        Utils.updatePhones(user, List.of(
+                PhoneDTO.builder().phoneNumber("1111111").codCity("1").codCountry("56").build(),
+                PhoneDTO.builder().phoneNumber("1111111").codCity("9").codCountry("56").build()));
+
+        assertEquals(1, user.getPhoneList().size());
+        assertEquals("9", user.getPhoneList().get(0).getCodCity());
+    }
+
     @Test
     public void testUpdatePhones_withNullList_doesNothing() {
         Utils.updatePhones(user, null);
@@ -138,5 +204,14 @@ public class UtilsTest {
         assertTrue(user.getPhoneList().isEmpty());
     }
 
+    private PhoneModel phone(String number) {
+        PhoneModel phone = new PhoneModel();
+        phone.setPhoneNumber(number);
+        phone.setCodCity("1");
+        phone.setCodCountry("56");
+        phone.setUser(user);
+        return phone;
+    }
+
 }
 
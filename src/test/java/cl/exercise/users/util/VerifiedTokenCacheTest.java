@@ -0,0 +1,86 @@
+package cl.exercise.users.util;
+
+import cl.exercise.users.util.VerifiedTokenCache.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class VerifiedTokenCacheTest {
+
+    private static final String TOKEN = "header.claims.signature";
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+    private UUID userId;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(meterRegistry, 100, Duration.ofMinutes(5));
+        userId = UUID.randomUUID();
+        verifications = new AtomicInteger();
+    }
+
+    private Function<String, VerifiedToken> verifier(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken(userId, "juan@example.com", expiresAt);
+        };
+    }
+
+    @Test
+    public void testResolve_hitSkipsVerification() {
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+
+        cache.resolve(TOKEN, verifier(expiresAt));
+        VerifiedToken resolved = cache.resolve(TOKEN, verifier(expiresAt));
+
+        assertEquals(userId, resolved.userId());
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testResolve_invalidTokenIsNotCached() {
+        Function<String, VerifiedToken> rejecting = token -> {
+            verifications.incrementAndGet();
+            return null;
+        };
+
+        assertNull(cache.resolve(TOKEN, rejecting));
+        assertNull(cache.resolve(TOKEN, rejecting));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    public void testResolve_expiredTokenIsNotKept() {
+        cache.resolve(TOKEN, verifier(Instant.now().minusSeconds(1)));
+        cache.resolve(TOKEN, verifier(Instant.now().minusSeconds(1)));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    public void testEvictUser_forcesNewVerification() {
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        cache.resolve(TOKEN, verifier(expiresAt));
+
+        cache.evictUser(userId);
+        cache.resolve(TOKEN, verifier(expiresAt));
+        cache.resolve(TOKEN, verifier(expiresAt));
+
+        assertEquals(2, verifications.get());
+    }
+}